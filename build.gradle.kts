@@ -23,6 +23,18 @@ java {
     }
 }
 
+// The Vector API implementations (in the "vector" source set) need the incubator module to compile
+// and run; they are used by the tests only when the build is run with -Pvector.
+val incubatorModules = listOf("--add-modules", "jdk.incubator.vector")
+val vectorEnabled = project.hasProperty("vector")
+
+sourceSets {
+    create("vector") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
 dependencies {
     testImplementation(libs.junit.aggregator)
     testRuntimeOnly(libs.junit.engine)
@@ -34,6 +46,10 @@ if (project.hasProperty("javadocDestDir")) {
     }
 }
 
+tasks.named<JavaCompile>("compileVectorJava") {
+    options.compilerArgs.addAll(incubatorModules)
+}
+
 tasks.javadoc {
     if (project.hasProperty("javadocDestDir")) {
         setDestinationDir(projectDir.resolve(project.property("javadocDestDir").toString()))
@@ -48,5 +64,17 @@ tasks.javadoc {
 
 tasks.test {
     useJUnitPlatform()
+    if (vectorEnabled) {
+        classpath += sourceSets["vector"].output
+        jvmArgs(incubatorModules)
+    }
+}
+
+tasks.register<JavaExec>("trebuchetBenchmark") {
+    group = "verification"
+    description = "Compares the Trebuchet digit search implementations."
+    classpath = sourceSets.test.get().runtimeClasspath + sourceSets["vector"].output
+    jvmArgs(incubatorModules)
+    mainClass = "com.nickbenn.adventofcode.day01.TrebuchetBenchmark"
 }
 
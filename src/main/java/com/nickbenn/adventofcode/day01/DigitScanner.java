@@ -0,0 +1,182 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.day01;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Finds the first and last occurrences of a fixed set of keywords (each with an associated digit
+ * value) in a line of ASCII text held in a {@link ByteBuffer}, using a pair of Aho-Corasick
+ * automata built once, when the scanner is constructed. The forward automaton is built from the
+ * keywords and scans from the start of the line; the backward automaton is built from the reversed
+ * keywords and scans from the end. Each scan examines each byte at most once, stops at the first
+ * match, and allocates nothing.
+ * <p>The automata are compiled into deterministic transition tables over a reduced alphabet (one
+ * symbol for each distinct keyword character, plus one for all other characters), so each step is
+ * a pair of array reads.</p>
+ * <p>Since no keyword contains another, the match found first by the forward scan is the one that
+ * starts earliest; similarly, the match found first by the backward scan is the one that starts
+ * latest.</p>
+ */
+final class DigitScanner implements DigitSearch {
+
+  private static final int ALPHABET_LIMIT = 128;
+  private static final int OTHER_SYMBOL = 0;
+  private static final int NO_MATCH = -1;
+  static final String[] DIGIT_WORDS =
+      {"zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
+
+  /** Recognizes only the digit characters {@code '0'..'9'}. */
+  static final DigitScanner DIGITS = new DigitScanner(digitCharacters());
+
+  /** Recognizes the digit characters, and the English words {@code "zero".."nine"}. */
+  static final DigitScanner DIGITS_AND_WORDS = new DigitScanner(digitCharactersAndWords());
+
+  private final byte[] symbols;
+  private final int alphabetSize;
+  private final Automaton forward;
+  private final Automaton backward;
+
+  private DigitScanner(Map<String, Integer> keywords) {
+    symbols = new byte[ALPHABET_LIMIT];
+    int alphabetSize = 1;
+    for (String keyword : keywords.keySet()) {
+      for (char c : keyword.toCharArray()) {
+        if (c >= ALPHABET_LIMIT) {
+          throw new IllegalArgumentException();
+        }
+        if (symbols[c] == OTHER_SYMBOL) {
+          symbols[c] = (byte) alphabetSize++;
+        }
+      }
+    }
+    this.alphabetSize = alphabetSize;
+    forward = new Automaton(keywords, symbols, alphabetSize, false);
+    backward = new Automaton(keywords, symbols, alphabetSize, true);
+  }
+
+  @Override
+  public int first(ByteBuffer line) {
+    int[] transitions = forward.transitions;
+    int[] values = forward.values;
+    for (int i = 0, length = line.limit(), state = 0; i < length; i++) {
+      state = transitions[state * alphabetSize + symbol((char) (line.get(i) & 0xff))];
+      if (values[state] != NO_MATCH) {
+        return values[state];
+      }
+    }
+    throw new IllegalArgumentException();
+  }
+
+  @Override
+  public int last(ByteBuffer line) {
+    int[] transitions = backward.transitions;
+    int[] values = backward.values;
+    for (int i = line.limit() - 1, state = 0; i >= 0; i--) {
+      state = transitions[state * alphabetSize + symbol((char) (line.get(i) & 0xff))];
+      if (values[state] != NO_MATCH) {
+        return values[state];
+      }
+    }
+    throw new IllegalArgumentException();
+  }
+
+  private int symbol(char c) {
+    return (c < ALPHABET_LIMIT) ? symbols[c] : OTHER_SYMBOL;
+  }
+
+  private static Map<String, Integer> digitCharacters() {
+    Map<String, Integer> keywords = new HashMap<>();
+    for (int digit = 0; digit < 10; digit++) {
+      keywords.put(String.valueOf((char) ('0' + digit)), digit);
+    }
+    return keywords;
+  }
+
+  private static Map<String, Integer> digitCharactersAndWords() {
+    Map<String, Integer> keywords = digitCharacters();
+    for (int digit = 0; digit < DIGIT_WORDS.length; digit++) {
+      keywords.put(DIGIT_WORDS[digit], digit);
+    }
+    return keywords;
+  }
+
+  private static class Automaton {
+
+    private final int[] transitions;
+    private final int[] values;
+
+    private Automaton(Map<String, Integer> keywords, byte[] symbols, int alphabetSize,
+        boolean reversed) {
+      int maxStates = 1 + keywords.keySet().stream().mapToInt(String::length).sum();
+      int[] trie = new int[maxStates * alphabetSize];
+      int[] values = new int[maxStates];
+      Arrays.fill(values, NO_MATCH);
+      int stateCount = 1;
+      for (Map.Entry<String, Integer> entry : keywords.entrySet()) {
+        String keyword = reversed
+            ? new StringBuilder(entry.getKey()).reverse().toString()
+            : entry.getKey();
+        int state = 0;
+        for (char c : keyword.toCharArray()) {
+          int slot = state * alphabetSize + symbols[c];
+          if (trie[slot] == 0) {
+            trie[slot] = stateCount++;
+          }
+          state = trie[slot];
+        }
+        values[state] = entry.getValue();
+      }
+      // Breadth-first construction of failure links, folded directly into the transition table:
+      // a missing transition from a state is the transition from its failure state.
+      int[] failures = new int[stateCount];
+      Queue<Integer> queue = new ArrayDeque<>();
+      for (int symbol = 0; symbol < alphabetSize; symbol++) {
+        int next = trie[symbol];
+        if (next != 0) {
+          queue.add(next);
+        }
+      }
+      while (!queue.isEmpty()) {
+        int state = queue.remove();
+        int failure = failures[state];
+        if (values[state] == NO_MATCH) {
+          values[state] = values[failure];
+        }
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+          int slot = state * alphabetSize + symbol;
+          int next = trie[slot];
+          int fallback = trie[failure * alphabetSize + symbol];
+          if (next != 0) {
+            failures[next] = fallback;
+            queue.add(next);
+          } else {
+            trie[slot] = fallback;
+          }
+        }
+      }
+      this.transitions = Arrays.copyOf(trie, stateCount * alphabetSize);
+      this.values = Arrays.copyOf(values, stateCount);
+    }
+
+  }
+
+}
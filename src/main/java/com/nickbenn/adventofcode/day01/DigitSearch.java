@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.day01;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds the values of the first and last digits (as defined by the implementation) in a line of
+ * ASCII text, held in a {@link ByteBuffer} between position 0 and the limit.
+ * <p>The {@link #digits()} and {@link #digitsAndWords()} factory methods return an implementation
+ * based on the incubating Vector API ({@code VectorDigitSearch}, compiled separately, in the
+ * {@code vector} source set) when that class is on the classpath and the
+ * {@code jdk.incubator.vector} module is present in the boot layer (e.g. when the build is run with
+ * {@code -Pvector}); otherwise, they return the scalar {@link DigitScanner} automata.</p>
+ */
+interface DigitSearch {
+
+  /**
+   * Returns the value of the first digit in {@code line}.
+   *
+   * @throws IllegalArgumentException If there is no digit in {@code line}.
+   */
+  int first(ByteBuffer line);
+
+  /**
+   * Returns the value of the last digit in {@code line}.
+   *
+   * @throws IllegalArgumentException If there is no digit in {@code line}.
+   */
+  int last(ByteBuffer line);
+
+  /**
+   * Returns an implementation recognizing only the digit characters {@code '0'..'9'}.
+   */
+  static DigitSearch digits() {
+    return Implementations.DIGITS;
+  }
+
+  /**
+   * Returns an implementation recognizing the digit characters and the words
+   * {@code "zero".."nine"}.
+   */
+  static DigitSearch digitsAndWords() {
+    return Implementations.DIGITS_AND_WORDS;
+  }
+
+  /**
+   * Returns a flag indicating whether the Vector API implementation is in use.
+   */
+  static boolean isVectorized() {
+    return Implementations.VECTORIZED;
+  }
+
+  /**
+   * Selects the implementations once, when first used. The Vector API implementation is loaded
+   * reflectively, so that this package compiles and runs without the incubator module.
+   */
+  final class Implementations {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_CLASS =
+        DigitSearch.class.getPackageName() + ".VectorDigitSearch";
+    private static final DigitSearch[] VECTOR_IMPLEMENTATIONS = loadVectorImplementations();
+    private static final boolean VECTORIZED = VECTOR_IMPLEMENTATIONS != null;
+    private static final DigitSearch DIGITS =
+        VECTORIZED ? VECTOR_IMPLEMENTATIONS[0] : DigitScanner.DIGITS;
+    private static final DigitSearch DIGITS_AND_WORDS =
+        VECTORIZED ? VECTOR_IMPLEMENTATIONS[1] : DigitScanner.DIGITS_AND_WORDS;
+
+    private Implementations() {
+    }
+
+    private static DigitSearch[] loadVectorImplementations() {
+      if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+        return null;
+      }
+      try {
+        Class<?> type = Class.forName(VECTOR_CLASS);
+        return new DigitSearch[]{
+            (DigitSearch) type.getDeclaredField("DIGITS").get(null),
+            (DigitSearch) type.getDeclaredField("DIGITS_AND_WORDS").get(null)
+        };
+      } catch (ClassNotFoundException e) {
+        return null;
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+  }
+
+}
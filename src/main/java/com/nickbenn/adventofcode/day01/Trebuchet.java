@@ -19,9 +19,8 @@ import static com.nickbenn.adventofcode.view.Presentation.NUMERIC_SOLUTION_FORMA
 
 import com.nickbenn.adventofcode.view.DataSource;
 import java.io.IOException;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.stream.Stream;
 
 /**
@@ -41,30 +40,21 @@ import java.util.stream.Stream;
  * for that line would be 99. Similarly, digit words (in part 2) may overlap. For example in the
  * line "oneight", the first digit is 1, represented by the word "one", and the last is 8,
  * represented by "eight".</p>
+ * <p>Both parts scan the bytes of each line with a {@link DigitSearch}, finding the first digit by
+ * reading forward from the start of the line, and the last by reading backward from the end;
+ * overlapping words are thus handled without any special treatment. When the Vector API
+ * implementation is available (see {@link DigitSearch}), the search examines many bytes per step;
+ * otherwise, it uses the scalar {@link DigitScanner} automata.</p>
  *
  * @see <a href="https://adventofcode.com/2023/day/1">"Day 1: Trebuchet?!"</a>.
  */
 public class Trebuchet {
 
-  private static final String NON_DIGITS_PATTERN = "\\D";
-  private static final Pattern FIRST_DIGIT_OR_WORD_EXTRACTOR =
-      Pattern.compile("^.*?((\\d)|zero|one|two|three|four|five|six|seven|eight|nine).*$");
-  private static final Pattern LAST_DIGIT_OR_WORD_EXTRACTOR =
-      Pattern.compile("^.*((\\d)|zero|one|two|three|four|five|six|seven|eight|nine).*$");
-  private static final Map<String, Integer> DIGIT_WORDS = Map.of(
-      "zero", 0,
-      "one", 1,
-      "two", 2,
-      "three", 3,
-      "four", 4,
-      "five", 5,
-      "six", 6,
-      "seven", 7,
-      "eight", 8,
-      "nine", 9
-  );
+  private static final int PART_1 = 0;
+  private static final int PART_2 = 1;
 
   private final String inputFile;
+  private final Path inputPath;
 
   /**
    * Initializes this instance, using the value of {@link DataSource#DEFAULT_INPUT_FILE} as the name
@@ -84,21 +74,35 @@ public class Trebuchet {
    */
   public Trebuchet(String inputFile) {
     this.inputFile = inputFile;
+    inputPath = null;
   }
 
   /**
-   * Creates an instance of {@link Trebuchet} for each of the two parts of the problem, implicitly
-   * specifying that input should be read from the file specified in
-   * {@link DataSource#DEFAULT_INPUT_FILE}, and invoking the relevant method to compute the required
-   * value, which is then printed to the console.
+   * Initializes this instance, using the file at {@code inputPath} (in the filesystem, rather than
+   * on the classpath) as the input. This is intended for large calibration logs, which are read by
+   * memory-mapping, and may be processed in parallel with {@link #sumBothParallel()}.
+   *
+   * @param inputPath Filesystem location of file from which input is read.
+   */
+  public Trebuchet(Path inputPath) {
+    inputFile = null;
+    this.inputPath = inputPath;
+  }
+
+  /**
+   * Creates an instance of {@link Trebuchet}, implicitly specifying that input should be read from
+   * the file specified in {@link DataSource#DEFAULT_INPUT_FILE}, and invoking
+   * {@link #sumBoth()} to compute the values required for both parts of the problem in a single
+   * read; the results are then printed to the console.
    *
    * @param args Command-line arguments (currently ignored).
    * @throws IOException If the input file specified (implicitly or explicitly) in the constructor
    *                     invocation cannot be found or read.
    */
   public static void main(String[] args) throws IOException {
-    System.out.printf(NUMERIC_SOLUTION_FORMAT, 1, new Trebuchet().sumDigits());
-    System.out.printf(NUMERIC_SOLUTION_FORMAT, 2, new Trebuchet().sumDigitWords());
+    CalibrationSums sums = new Trebuchet().sumBoth();
+    System.out.printf(NUMERIC_SOLUTION_FORMAT, 1, sums.digits());
+    System.out.printf(NUMERIC_SOLUTION_FORMAT, 2, sums.digitWords());
   }
 
   /**
@@ -114,13 +118,7 @@ public class Trebuchet {
    *                     invocation cannot be found or read.
    */
   public int sumDigits() throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
-      return lines
-          .map((line) -> line.replaceAll(NON_DIGITS_PATTERN, ""))
-          .map((line) -> line.charAt(0) + line.substring(line.length() - 1))
-          .mapToInt(Integer::parseInt)
-          .sum();
-    }
+    return sumCalibrationValues(DigitSearch.digits());
   }
 
   /**
@@ -136,27 +134,87 @@ public class Trebuchet {
    *                     invocation cannot be found or read.
    */
   public int sumDigitWords() throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
+    return sumCalibrationValues(DigitSearch.digitsAndWords());
+  }
+
+  /**
+   * Reads each line of the input file once, computing the calibration values of both parts of the
+   * problem (as described for {@link #sumDigits()} and {@link #sumDigitWords()}) from each line,
+   * and returns the sums of both.
+   * <p>This method does not modify the state of the instance or have any other side effects.</p>
+   *
+   * @return The sums of two-digit numbers extracted from the input, for both parts.
+   * @throws IOException If the input file specified (implicitly or explicitly) in the constructor
+   *                     invocation cannot be found or read.
+   */
+  public CalibrationSums sumBoth() throws IOException {
+    return sumBoth(false);
+  }
+
+  /**
+   * Computes the same results as {@link #sumBoth()}, but splits the input at line boundaries and
+   * processes the pieces in parallel. Each line is scanned without allocation, and each worker
+   * accumulates its own partial sums, which are combined at the end.
+   * <p>This method does not modify the state of the instance or have any other side effects.</p>
+   *
+   * @return The sums of two-digit numbers extracted from the input, for both parts.
+   * @throws IOException If the input file specified (implicitly or explicitly) in the constructor
+   *                     invocation cannot be found or read.
+   */
+  public CalibrationSums sumBothParallel() throws IOException {
+    return sumBoth(true);
+  }
+
+  private CalibrationSums sumBoth(boolean parallel) throws IOException {
+    DigitSearch digits = DigitSearch.digits();
+    DigitSearch digitsAndWords = DigitSearch.digitsAndWords();
+    try (Stream<ByteBuffer> lines = lineBuffers()) {
+      long[] sums = (parallel ? lines.parallel() : lines)
+          .collect(() -> new long[2],
+              (partialSums, line) -> {
+                partialSums[PART_1] += calibrationValue(digits, line);
+                partialSums[PART_2] += calibrationValue(digitsAndWords, line);
+              },
+              (partialSums, otherSums) -> {
+                partialSums[PART_1] += otherSums[PART_1];
+                partialSums[PART_2] += otherSums[PART_2];
+              });
+      return new CalibrationSums(sums[PART_1], sums[PART_2]);
+    }
+  }
+
+  private int sumCalibrationValues(DigitSearch search) throws IOException {
+    try (Stream<ByteBuffer> lines = lineBuffers()) {
       return lines
-          .mapToInt(this::getCalibrationValue)
+          .mapToInt((line) -> calibrationValue(search, line))
           .sum();
     }
   }
 
-  private int getCalibrationValue(String line) {
-    Matcher firstMatcher = FIRST_DIGIT_OR_WORD_EXTRACTOR.matcher(line);
-    Matcher lastMatcher = LAST_DIGIT_OR_WORD_EXTRACTOR.matcher(line);
-    if (!firstMatcher.matches() || !lastMatcher.matches()) {
-      throw new IllegalArgumentException();
+  private Stream<ByteBuffer> lineBuffers() throws IOException {
+    DataSource.Builder builder = new DataSource.Builder(this);
+    if (inputPath != null) {
+      builder.setInputPath(inputPath);
+    } else {
+      builder.setInputFile(inputFile);
     }
-    return 10 * value(firstMatcher) + value(lastMatcher);
+    return builder
+        .build()
+        .lineBuffers();
+  }
+
+  private static int calibrationValue(DigitSearch search, ByteBuffer line) {
+    return 10 * search.first(line) + search.last(line);
   }
 
-  private int value(Matcher matcher) {
-    String digitCapture = matcher.group(2);
-    return (digitCapture != null)
-        ? Character.getNumericValue(digitCapture.charAt(0))
-        : DIGIT_WORDS.get(matcher.group(1));
+  /**
+   * Sums of calibration values for both parts of the problem. The sums are {@code long} values,
+   * since very large inputs may overflow {@code int}.
+   *
+   * @param digits     Sum of calibration values formed from digit characters only (part 1).
+   * @param digitWords Sum of calibration values formed from digit characters and words (part 2).
+   */
+  public record CalibrationSums(long digits, long digitWords) {
   }
 
 }
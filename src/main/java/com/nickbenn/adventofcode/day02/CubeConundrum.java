@@ -19,10 +19,12 @@ import static com.nickbenn.adventofcode.view.Presentation.NUMERIC_SOLUTION_FORMA
 
 import com.nickbenn.adventofcode.view.DataSource;
 import java.io.IOException;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -38,26 +40,35 @@ import java.util.stream.Stream;
  *   color which would make each of the games feasible, compute the product of these numbers for
  *   each game, and return the sum of these products.</li>
  * </ul>
+ * <p>Each line is parsed directly from the bytes of the input, comparing each color name in place
+ * with the expected names, into a single reusable game record holding the maximum count for each
+ * color; no regular expressions, strings, or per-game objects are involved. The input is read only
+ * once, on first use; the maxima of all games are then kept in columnar form, sorted by the red
+ * maximum, so that any number of queries (including batches of ceiling sets, with
+ * {@link #sumFeasibleGames(List)}) can be answered without reading the input again.</p>
  *
  * @see <a href="https://adventofcode.com/2023/day/2">"Day 2: Cube Conundrum"</a>.
  */
 public class CubeConundrum {
 
-  private static final Pattern LINE_PATTERN = Pattern.compile("^Game\\s+(\\d+):\\s+(.*?)\\s*$");
-  private static final Pattern SAMPLE_SPLITTER = Pattern.compile("[,;]\\s*");
-  private static final Pattern SAMPLE_PATTERN = Pattern.compile("(\\d+)\\s*(red|green|blue)");
+  private static final String RED = "red";
+  private static final String GREEN = "green";
+  private static final String BLUE = "blue";
+  private static final Set<String> COLORS = Set.of(RED, GREEN, BLUE);
 
   /**
    * Maximum numbers of red, green, and blue cubes allowed for feasible games in part 1.
    */
   public static final Map<String, Integer> CEILINGS = Map.of(
-      "red", 12,
-      "green", 13,
-      "blue", 14
+      RED, 12,
+      GREEN, 13,
+      BLUE, 14
   );
 
   private final String inputFile;
 
+  private GameTable games;
+
   /**
    * Initializes this instance, using the value of {@link DataSource#DEFAULT_INPUT_FILE} as the name
    * (relative to the package of this class on the classpath) of the file to be read. In other
@@ -95,8 +106,11 @@ public class CubeConundrum {
 
   /**
    * Computes the sum of IDs of all games that would be feasible with the cube color limits
-   * specified in {@code ceilings}.
-   * <p>This method does not modify the state of the instance or have any other side effects.</p>
+   * specified in {@code ceilings}. Colors not included in {@code ceilings} are not limited; a color
+   * in {@code ceilings} other than red, green, and blue is never drawn, and thus only makes all
+   * games infeasible if its ceiling is negative.
+   * <p>This method does not modify the state of the instance (other than caching the parsed games
+   * on first use) or have any other side effects.</p>
    *
    * @param ceilings {@link Map Map&lt;String,Integer&gt;} giving the maximum number of cubes of
    *                 each color.
@@ -104,86 +118,393 @@ public class CubeConundrum {
    *                     invocation cannot be found or read.
    */
   public int sumFeasibleGames(Map<String, Integer> ceilings) throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
-      return lines
-          .map(Game::parse)
-          .filter((game) -> game.isFeasible(ceilings))
-          .mapToInt(Game::getId)
-          .sum();
-    }
+    int[] limits = limits(ceilings);
+    return Math.toIntExact(getGames().sumFeasible(limits[0], limits[1], limits[2]));
+  }
+
+  /**
+   * Computes, for each of {@code ceilingSets}, the sum of IDs of all games that would be feasible
+   * with the cube color limits in that set (as for {@link #sumFeasibleGames(Map)}), returning the
+   * sums in the same order as the ceiling sets.
+   * <p>Implementation note: The ceiling sets are answered together in an offline sweep: in
+   * ascending order of red ceiling, games whose red maximum is within the ceiling are added to a
+   * 2-dimensional Fenwick tree (binary indexed tree) keyed by the ranks of their green and blue
+   * maxima; each query is then a single prefix-sum lookup in that tree. The total cost is
+   * {@code O((n + q) log n log n)} for {@code n} games and {@code q} ceiling sets. The tree holds
+   * one {@code long} per combination of distinct green and blue maxima; if that would exceed 2^24
+   * entries (128 MiB), the ceiling sets are instead answered one at a time, by scanning the games
+   * within each red ceiling, at a cost of {@code O(q n)}.</p>
+   * <p>This method does not modify the state of the instance (other than caching the parsed games
+   * on first use) or have any other side effects.</p>
+   *
+   * @param ceilingSets Sets of cube color limits, each as for {@link #sumFeasibleGames(Map)}.
+   * @throws IOException If the input file specified (implicitly or explicitly) in the constructor
+   *                     invocation cannot be found or read.
+   */
+  public long[] sumFeasibleGames(List<Map<String, Integer>> ceilingSets) throws IOException {
+    int[][] ceilings = ceilingSets
+        .stream()
+        .map(CubeConundrum::limits)
+        .toArray(int[][]::new);
+    return getGames().sumFeasible(ceilings);
   }
 
   /**
    * Computes and returns the sum of the power of all games, where the power of a game is defined as
    * the product of the minimum numbers of red, green, and blue cubes required to produce the color
    * draws read from the input file.
-   * <p>This method does not modify the state of the instance or have any other side effects.</p>
+   * <p>This method does not modify the state of the instance (other than caching the parsed games
+   * on first use) or have any other side effects.</p>
    *
    * @throws IOException If the input file specified (implicitly or explicitly) in the constructor
    *                     invocation cannot be found or read.
    */
   public long sumPower() throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
-      return lines
-          .map(Game::parse)
-          .mapToLong(Game::getPower)
-          .sum();
+    return getGames().sumPower();
+  }
+
+  private synchronized GameTable getGames() throws IOException {
+    if (games == null) {
+      try (Stream<ByteBuffer> lines = new DataSource.Builder(this)
+          .setInputFile(inputFile)
+          .build()
+          .lineBuffers()) {
+        games = GameTable.load(lines);
+      }
     }
+    return games;
   }
 
-  private static class Game {
+  /**
+   * Returns the red, green, and blue ceilings in {@code ceilings}. Since every game draws 0 cubes
+   * of any other color, a negative ceiling for another color makes every game infeasible; that is
+   * expressed as a negative red ceiling.
+   */
+  private static int[] limits(Map<String, Integer> ceilings) {
+    int red = ceilings.getOrDefault(RED, Integer.MAX_VALUE);
+    for (Map.Entry<String, Integer> entry : ceilings.entrySet()) {
+      if (!COLORS.contains(entry.getKey()) && entry.getValue() < 0) {
+        red = -1;
+      }
+    }
+    return new int[]{
+        red,
+        ceilings.getOrDefault(GREEN, Integer.MAX_VALUE),
+        ceilings.getOrDefault(BLUE, Integer.MAX_VALUE)
+    };
+  }
 
-    private final int id;
-    private final Map<String, Integer> maxDraws;
+  /**
+   * Columnar table of the IDs and color maxima of all games (along with the sum of their powers),
+   * with rows sorted in ascending order of red maximum.
+   */
+  private static class GameTable {
 
-    private Game(int id) {
-      this.id = id;
-      maxDraws = new HashMap<>();
-    }
+    private static final int INITIAL_CAPACITY = 1 << 8;
+    // Limit on the number of entries (not bytes) in the Fenwick tree used for batch queries; the
+    // tree size is the product of the distinct green and blue counts, so it grows quadratically
+    // with the number of games in the worst case. Above the limit, queries are answered singly.
+    private static final int MAX_TREE_SIZE = 1 << 24;
 
-    public static Game parse(String line) {
-      Matcher lineMatcher = LINE_PATTERN.matcher(line);
-      if (!lineMatcher.matches()) {
-        throw new IllegalArgumentException();
+    private final int[] ids;
+    private final int[] reds;
+    private final int[] greens;
+    private final int[] blues;
+    private final long powerSum;
+
+    private final int[] greenValues;
+    private final int[] blueValues;
+    private final int[] greenRanks;
+    private final int[] blueRanks;
+
+    private GameTable(int[] ids, int[] reds, int[] greens, int[] blues, long powerSum) {
+      this.ids = ids;
+      this.reds = reds;
+      this.greens = greens;
+      this.blues = blues;
+      this.powerSum = powerSum;
+      greenValues = IntStream.of(greens).sorted().distinct().toArray();
+      blueValues = IntStream.of(blues).sorted().distinct().toArray();
+      greenRanks = new int[greens.length];
+      blueRanks = new int[blues.length];
+      for (int row = 0; row < greens.length; row++) {
+        greenRanks[row] = Arrays.binarySearch(greenValues, greens[row]) + 1;
+        blueRanks[row] = Arrays.binarySearch(blueValues, blues[row]) + 1;
       }
-      int id = Integer.parseInt(lineMatcher.group(1));
-      Game game = new Game(id);
-      SAMPLE_SPLITTER
-          .splitAsStream(lineMatcher.group(2))
-          .forEach((sample) -> {
-            Matcher samplePatcher = SAMPLE_PATTERN.matcher(sample);
-            if (!samplePatcher.matches()) {
-              throw new IllegalArgumentException();
+    }
+
+    public static GameTable load(Stream<ByteBuffer> lines) {
+      Game game = new Game();
+      int[][] columns = new int[4][INITIAL_CAPACITY];
+      int[] count = {0};
+      long[] powerSum = {0};
+      lines
+          .map(game::parse)
+          .forEach((parsed) -> {
+            if (count[0] == columns[0].length) {
+              for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], 2 * count[0]);
+              }
             }
-            int count = Integer.parseInt(samplePatcher.group(1));
-            game.update(samplePatcher.group(2), count);
+            int row = count[0]++;
+            columns[0][row] = parsed.getId();
+            columns[1][row] = parsed.getRed();
+            columns[2][row] = parsed.getGreen();
+            columns[3][row] = parsed.getBlue();
+            powerSum[0] += parsed.getPower();
           });
-      return game;
+      int[] order = sortedOrder(columns[1], count[0]);
+      int[][] sorted = new int[columns.length][count[0]];
+      for (int i = 0; i < order.length; i++) {
+        for (int column = 0; column < columns.length; column++) {
+          sorted[column][i] = columns[column][order[i]];
+        }
+      }
+      return new GameTable(sorted[0], sorted[1], sorted[2], sorted[3], powerSum[0]);
+    }
+
+    public long sumPower() {
+      return powerSum;
     }
 
-    public void update(String color, int count) {
-      maxDraws.put(color, Math.max(count, maxDraws.getOrDefault(color, 0)));
+    /**
+     * Answers a single query by scanning only the prefix of rows with red maximum within the
+     * ceiling.
+     */
+    public long sumFeasible(int redCeiling, int greenCeiling, int blueCeiling) {
+      long sum = 0;
+      for (int row = 0, end = upperBound(reds, reds.length, redCeiling); row < end; row++) {
+        if (greens[row] <= greenCeiling && blues[row] <= blueCeiling) {
+          sum += ids[row];
+        }
+      }
+      return sum;
     }
 
-    public boolean isFeasible(Map<String, Integer> ceilings) {
-      return ceilings
-          .entrySet()
-          .stream()
-          .noneMatch((entry) -> entry.getValue() < maxDraws.getOrDefault(entry.getKey(), 0));
+    /**
+     * Answers a batch of queries (each a red, green, and blue ceiling) with an offline sweep over a
+     * 2-dimensional Fenwick tree; if the tree would be too large, the queries are answered
+     * individually instead.
+     */
+    public long[] sumFeasible(int[][] ceilings) {
+      if ((long) (greenValues.length + 1) * (blueValues.length + 1) > MAX_TREE_SIZE) {
+        return Stream.of(ceilings)
+            .mapToLong((ceiling) -> sumFeasible(ceiling[0], ceiling[1], ceiling[2]))
+            .toArray();
+      }
+      int[] redCeilings = new int[ceilings.length];
+      for (int query = 0; query < ceilings.length; query++) {
+        redCeilings[query] = ceilings[query][0];
+      }
+      int[] queryOrder = sortedOrder(redCeilings, ceilings.length);
+      FenwickTree tree = new FenwickTree(greenValues.length, blueValues.length);
+      long[] sums = new long[ceilings.length];
+      int row = 0;
+      for (int query : queryOrder) {
+        int[] ceiling = ceilings[query];
+        for (; row < reds.length && reds[row] <= ceiling[0]; row++) {
+          tree.add(greenRanks[row], blueRanks[row], ids[row]);
+        }
+        sums[query] = tree.prefixSum(
+            upperBound(greenValues, greenValues.length, ceiling[1]),
+            upperBound(blueValues, blueValues.length, ceiling[2]));
+      }
+      return sums;
+    }
+
+    /**
+     * Returns the indices {@code 0..(length - 1)}, in ascending order of the corresponding elements
+     * of {@code keys} (and in ascending order of index for equal keys). Each key is packed with its
+     * index into a single {@code long}, so that the sort is a primitive
+     * {@link Arrays#sort(long[])}, with no boxing or comparator.
+     */
+    private static int[] sortedOrder(int[] keys, int length) {
+      long[] packed = new long[length];
+      for (int i = 0; i < length; i++) {
+        packed[i] = ((long) keys[i] << Integer.SIZE) | i;
+      }
+      Arrays.sort(packed);
+      int[] order = new int[length];
+      for (int i = 0; i < length; i++) {
+        order[i] = (int) packed[i];
+      }
+      return order;
+    }
+
+    /**
+     * Returns the number of elements of {@code values} (sorted in ascending order, in the range
+     * {@code 0..(length - 1)}) that are less than or equal to {@code ceiling}.
+     */
+    private static int upperBound(int[] values, int length, int ceiling) {
+      int low = 0;
+      int high = length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (values[mid] <= ceiling) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+  }
+
+  /**
+   * Two-dimensional Fenwick tree of {@code long} sums, with 1-based indices in both dimensions.
+   */
+  private static class FenwickTree {
+
+    private final int height;
+    private final int width;
+    private final long[] sums;
+
+    public FenwickTree(int height, int width) {
+      this.height = height;
+      this.width = width;
+      sums = new long[Math.multiplyExact(height + 1, width + 1)];
+    }
+
+    public void add(int row, int column, long value) {
+      for (int i = row; i <= height; i += i & -i) {
+        for (int j = column; j <= width; j += j & -j) {
+          sums[i * (width + 1) + j] += value;
+        }
+      }
+    }
+
+    public long prefixSum(int row, int column) {
+      long sum = 0;
+      for (int i = row; i > 0; i -= i & -i) {
+        for (int j = column; j > 0; j -= j & -j) {
+          sum += sums[i * (width + 1) + j];
+        }
+      }
+      return sum;
+    }
+
+  }
+
+  /**
+   * Mutable record of a single game, overwritten by each invocation of {@link #parse(ByteBuffer)}.
+   * Since the same instance is returned for every line, it must only be used with sequential
+   * streams, and each result must be consumed before the next line is parsed.
+   */
+  private static class Game {
+
+    private static final byte[] PREFIX = {'G', 'a', 'm', 'e'};
+    private static final byte[] RED_NAME = {'r', 'e', 'd'};
+    private static final byte[] GREEN_NAME = {'g', 'r', 'e', 'e', 'n'};
+    private static final byte[] BLUE_NAME = {'b', 'l', 'u', 'e'};
+    private static final int ABSENT = -1;
+
+    private int id;
+    private int red;
+    private int green;
+    private int blue;
+
+    private ByteBuffer line;
+    private int position;
+
+    public Game parse(ByteBuffer line) {
+      this.line = line;
+      position = 0;
+      red = ABSENT;
+      green = ABSENT;
+      blue = ABSENT;
+      for (byte b : PREFIX) {
+        if (position == line.limit() || line.get(position++) != b) {
+          throw new IllegalArgumentException();
+        }
+      }
+      id = nextNumber();
+      skipWhitespace();
+      if (position == line.limit() || line.get(position++) != ':') {
+        throw new IllegalArgumentException();
+      }
+      while (hasNextSample()) {
+        int count = nextNumber();
+        skipWhitespace();
+        int start = position;
+        while (position < line.limit() && Character.isLetter(line.get(position))) {
+          position++;
+        }
+        if (isName(start, RED_NAME)) {
+          red = Math.max(red, count);
+        } else if (isName(start, GREEN_NAME)) {
+          green = Math.max(green, count);
+        } else if (isName(start, BLUE_NAME)) {
+          blue = Math.max(blue, count);
+        } else {
+          throw new IllegalArgumentException();
+        }
+      }
+      this.line = null;
+      return this;
     }
 
     public long getPower() {
-      return maxDraws
-          .values()
-          .stream()
-          .mapToLong(Integer::longValue)
-          .reduce(1L, (a, b) -> a * b);
+      return factor(red) * factor(green) * factor(blue);
     }
 
     public int getId() {
       return id;
     }
 
+    public int getRed() {
+      return Math.max(red, 0);
+    }
+
+    public int getGreen() {
+      return Math.max(green, 0);
+    }
+
+    public int getBlue() {
+      return Math.max(blue, 0);
+    }
+
+    private int nextNumber() {
+      skipWhitespace();
+      int start = position;
+      int value = 0;
+      for (byte b; position < line.limit() && (b = line.get(position)) >= '0' && b <= '9';
+          position++) {
+        value = Math.addExact(Math.multiplyExact(value, 10), b - '0');
+      }
+      if (position == start) {
+        throw new IllegalArgumentException();
+      }
+      return value;
+    }
+
+    private boolean hasNextSample() {
+      for (byte b; position < line.limit()
+          && ((b = line.get(position)) == ',' || b == ';' || Character.isWhitespace(b));
+          position++) {
+        // Skip separators and whitespace.
+      }
+      return position < line.limit();
+    }
+
+    private boolean isName(int start, byte[] name) {
+      boolean matches = position - start == name.length;
+      for (int i = 0; matches && i < name.length; i++) {
+        matches = line.get(start + i) == name[i];
+      }
+      return matches;
+    }
+
+    private void skipWhitespace() {
+      while (position < line.limit() && Character.isWhitespace(line.get(position))) {
+        position++;
+      }
+    }
+
+    private static long factor(int max) {
+      return (max == ABSENT) ? 1 : max;
+    }
+
   }
 
 }
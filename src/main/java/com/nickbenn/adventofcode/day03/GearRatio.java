@@ -17,19 +17,15 @@ package com.nickbenn.adventofcode.day03;
 
 import static com.nickbenn.adventofcode.view.Presentation.NUMERIC_SOLUTION_FORMAT;
 
-import com.nickbenn.adventofcode.model.MatrixLocation;
+import com.nickbenn.adventofcode.model.IntRectangle;
+import com.nickbenn.adventofcode.model.RectangleIndex;
 import com.nickbenn.adventofcode.view.DataSource;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.NavigableMap;
-import java.util.NavigableSet;
-import java.util.TreeMap;
-import java.util.TreeSet;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -52,9 +48,12 @@ public class GearRatio {
 
   private static final Pattern EXTRACTOR = Pattern.compile("(\\*)|([^\\d.*])|(\\d+)");
 
-  private final NavigableMap<MatrixLocation, String> numbers;
-  private final NavigableSet<MatrixLocation> gears;
-  private final NavigableSet<MatrixLocation> symbols;
+  private static final int ADJACENCY_OFFSET = 1;
+
+  private final List<PartNumber> numbers;
+  private final List<IntRectangle> gears;
+  private final RectangleIndex<PartNumber> numberIndex;
+  private final RectangleIndex<IntRectangle> symbolIndex;
 
   /**
    * Initializes this instance, using the value of {@link DataSource#DEFAULT_INPUT_FILE} as the name
@@ -73,16 +72,21 @@ public class GearRatio {
    * Initializes this instance, using the value specified in the {@code inputFile} parameter as the
    * name (relative to the package of this class on the classpath) of the file to be read, and
    * processing the schematic contained in that file to catalogue all of its part numbers, gears,
-   * and other symbols.
+   * and other symbols. The bounds of the numbers and symbols are held in {@link RectangleIndex}
+   * instances, so that each adjacency check examines only the elements near the box of interest.
    *
    * @param inputFile Classpath/package-relative location of file from which input is read.
    * @throws IOException If the file referenced by {@code inputFile} cannot be found or read.
    */
   public GearRatio(String inputFile) throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
-      numbers = new TreeMap<>();
-      gears = new TreeSet<>();
-      symbols = new TreeSet<>();
+    try (Stream<CharSequence> lines = new DataSource.Builder(this)
+        .setInputFile(inputFile)
+        .build()
+        .lineViews()) {
+      numbers = new ArrayList<>();
+      gears = new ArrayList<>();
+      numberIndex = new RectangleIndex<>();
+      symbolIndex = new RectangleIndex<>();
       analyzeSchematic(lines);
     }
   }
@@ -109,11 +113,9 @@ public class GearRatio {
    */
   public int sumPartNumbers() {
     return numbers
-        .entrySet()
         .stream()
         .filter(this::isSymbolAdjacent)
-        .map(Entry::getValue)
-        .mapToInt(Integer::parseInt)
+        .mapToInt(PartNumber::value)
         .sum();
   }
 
@@ -125,17 +127,17 @@ public class GearRatio {
   public int sumGearRatios() {
     return gears
         .stream()
-        .map(this::isNumberAdjacent)
+        .map(this::getAdjacentNumbers)
         .filter((nums) -> nums.size() == 2)
         .mapToInt((nums) -> nums
             .stream()
-            .mapToInt(Integer::parseInt)
+            .mapToInt(PartNumber::value)
             .reduce(1, (a, b) -> a * b)
         )
         .sum();
   }
 
-  private void analyzeSchematic(Stream<String> lines) {
+  private void analyzeSchematic(Stream<CharSequence> lines) {
     int[] lineNumber = {0};
     lines.forEach((line) -> {
       int row = lineNumber[0]++;
@@ -147,42 +149,29 @@ public class GearRatio {
   }
 
   private void processMatch(MatchResult result, int row) {
-    MatrixLocation location = new MatrixLocation(row, result.start());
     String numberWord = result.group(3);
+    IntRectangle bounds = new IntRectangle(row, result.start(), 1, result.end() - result.start());
     if (numberWord != null) {
-      numbers.put(location, numberWord);
+      PartNumber number = new PartNumber(bounds, Integer.parseInt(numberWord));
+      numbers.add(number);
+      numberIndex.add(bounds, number);
     } else {
-      symbols.add(location);
+      symbolIndex.add(bounds, bounds);
       if (result.group(1) != null) {
-        gears.add(location);
+        gears.add(bounds);
       }
     }
   }
 
-  private boolean isSymbolAdjacent(Entry<MatrixLocation, String> entry) {
-    MatrixLocation location = entry.getKey();
-    int startColumn = location.column() - 1;
-    int endColumn = location.column() + entry.getValue().length() + 1;
-    MatrixLocation start = new MatrixLocation(location.row() - 1, startColumn);
-    MatrixLocation end = new MatrixLocation(location.row() + 1, endColumn);
-    return symbols
-        .subSet(start, end)
-        .stream()
-        .anyMatch((loc) -> loc.column() >= startColumn && loc.column() < endColumn);
+  private boolean isSymbolAdjacent(PartNumber number) {
+    return symbolIndex.anyIntersecting(new IntRectangle(number.bounds(), ADJACENCY_OFFSET));
   }
 
-  private List<String> isNumberAdjacent(MatrixLocation location) {
-    int column = location.column();
-    MatrixLocation start = new MatrixLocation(location.row() - 1, 0);
-    MatrixLocation end = new MatrixLocation(location.row() + 1, column + 1);
-    return numbers
-        .subMap(start, true, end, true)
-        .entrySet()
-        .stream()
-        .filter((entry) -> entry.getKey().column() <= column + 1
-            && entry.getKey().column() + entry.getValue().length() >= column)
-        .map(Entry::getValue)
-        .collect(Collectors.toList());
+  private List<PartNumber> getAdjacentNumbers(IntRectangle gear) {
+    return numberIndex.intersecting(new IntRectangle(gear, ADJACENCY_OFFSET));
+  }
+
+  private record PartNumber(IntRectangle bounds, int value) {
   }
 
 }
@@ -18,12 +18,10 @@ package com.nickbenn.adventofcode.day04;
 import static com.nickbenn.adventofcode.view.Presentation.NUMERIC_SOLUTION_FORMAT;
 
 import com.nickbenn.adventofcode.view.DataSource;
+import com.nickbenn.adventofcode.view.NumberScanner;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -73,7 +71,10 @@ public class ScratchCards {
    * @throws IOException If the file referenced by {@code inputFile} cannot be found or read.
    */
   public ScratchCards(String inputFile) throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
+    try (Stream<CharSequence> lines = new DataSource.Builder(this)
+        .setInputFile(inputFile)
+        .build()
+        .lineViews()) {
       numbers = lines
           .map(DailyNumbers::parse)
           .collect(Collectors.toList());
@@ -137,35 +138,41 @@ public class ScratchCards {
 
   private static class DailyNumbers {
 
-    private static final Pattern GROUP_EXTRACTOR = Pattern.compile("[^:]+:([^|]*)\\|(.*)");
-    private static final Pattern GROUP_SPLITTER = Pattern.compile("\\s+");
+    private static final char WINNERS_DELIMITER = ':';
+    private static final char PICKS_DELIMITER = '|';
 
-    private final Set<Integer> winners;
-    private final Set<Integer> picks;
+    private final int[] winners;
+    private final int[] picks;
     private final int matches;
 
-    private DailyNumbers(String winnersInput, String picksInput) {
-      winners = split(winnersInput);
-      picks = split(picksInput);
-      matches = (int) picks
-          .stream()
-          .filter(winners::contains)
+    private DailyNumbers(int[] winners, int[] picks) {
+      this.winners = winners;
+      this.picks = picks;
+      int[] sortedWinners = IntStream.of(winners)
+          .sorted()
+          .toArray();
+      matches = (int) IntStream.of(picks)
+          .distinct()
+          .filter((pick) -> Arrays.binarySearch(sortedWinners, pick) >= 0)
           .count();
     }
 
-    public static DailyNumbers parse(String input) {
-      Matcher matcher = GROUP_EXTRACTOR.matcher(input);
-      if (!matcher.matches()) {
+    public static DailyNumbers parse(CharSequence input) {
+      int winnersStart = indexOf(input, WINNERS_DELIMITER, 0) + 1;
+      int picksStart = indexOf(input, PICKS_DELIMITER, winnersStart) + 1;
+      if (winnersStart == 0 || picksStart == 0) {
         throw new IllegalArgumentException();
       }
-      return new DailyNumbers(matcher.group(1).strip(), matcher.group(2).strip());
+      return new DailyNumbers(
+          new NumberScanner(input, winnersStart, picksStart - 1).remainingInts(),
+          new NumberScanner(input, picksStart, input.length()).remainingInts());
     }
 
-    public Set<Integer> getWinners() {
+    public int[] getWinners() {
       return winners;
     }
 
-    public Set<Integer> getPicks() {
+    public int[] getPicks() {
       return picks;
     }
 
@@ -173,11 +180,13 @@ public class ScratchCards {
       return matches;
     }
 
-    private Set<Integer> split(String input) {
-      return GROUP_SPLITTER
-          .splitAsStream(input.strip())
-          .map(Integer::valueOf)
-          .collect(Collectors.toUnmodifiableSet());
+    private static int indexOf(CharSequence input, char target, int from) {
+      for (int i = from; i < input.length(); i++) {
+        if (input.charAt(i) == target) {
+          return i;
+        }
+      }
+      return -1;
     }
 
   }
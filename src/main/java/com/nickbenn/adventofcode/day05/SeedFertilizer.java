@@ -17,25 +17,25 @@ package com.nickbenn.adventofcode.day05;
 
 import static com.nickbenn.adventofcode.view.Presentation.NUMERIC_SOLUTION_FORMAT;
 
+import com.nickbenn.adventofcode.model.LongIntervalMap;
+import com.nickbenn.adventofcode.model.LongIntervalSet;
 import com.nickbenn.adventofcode.model.LongRange;
-import com.nickbenn.adventofcode.util.StreamChunker;
+import com.nickbenn.adventofcode.util.LongChunker;
 import com.nickbenn.adventofcode.view.DataSource;
+import com.nickbenn.adventofcode.view.NumberScanner;
+import com.nickbenn.adventofcode.view.SnapshotCache;
+import java.io.DataOutput;
 import java.io.IOException;
-import java.util.LinkedList;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.NavigableMap;
 import java.util.Objects;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.TreeMap;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * Implements solutions for both parts of day 5, reading a line specifying seed numbers, then a
@@ -60,13 +60,12 @@ public class SeedFertilizer {
   private static final Pattern BLOCK_EXTRACTOR =
       Pattern.compile("(?:(seeds)|[^:]*?):\\s+(.*)$", Pattern.DOTALL);
   private static final Pattern LINE_SPLITTER = Pattern.compile("\\n");
-  private static final Pattern SEED_SPLITTER = Pattern.compile("\\s+");
-  private static final long MIN_START = 0;
   private static final long MIN_END = Long.MAX_VALUE;
+  private static final int MAPPING_FIELDS = 3;
 
-  private final List<Long> seeds = new LinkedList<>();
-  private final List<LongRange> seedRanges = new LinkedList<>();
-  private final NavigableMap<Long, Mapping> mergedMap;
+  private final long[] seeds;
+  private final LongIntervalSet seedRanges;
+  private final LongIntervalMap mergedMap;
 
   /**
    * Initializes this instance, using the value of {@link DataSource#DEFAULT_INPUT_FILE} as the name
@@ -88,44 +87,30 @@ public class SeedFertilizer {
    * series of corresponding input and output ranges, together forming a mapping layer.
    * <p>Implementation notes:</p>
    * <ul>
-   *   <li>Each mapping layer is normalized, filling in the gaps in the input layer, resulting in
-   *   a continuous set of input segments, covering the range {@code 0..(Long.MAX_VALUE - 1)}.
-   *   </li>
-   *   <li>The individual layers are not maintained in the instance state; instead, after
-   *   normalization, each layer is merged into a reduced result obtained to that point. The merging
-   *   process replaces each segment in the merged layer produced to that point with one or more
-   *   segments formed from the intersections of the output range of the given segment with the
-   *   input ranges of the layer being merged.</li>
-   *   <li>The layer merging described above starts with a seed layer consisting of a single
-   *   segment, with identical input and output ranges of {@code 0..(Long.MAX_VALUE - 1)}.</li>
+   *   <li>Each mapping layer is read into a {@link LongIntervalMap}; values falling in the gaps
+   *   between the input ranges of a layer are implicitly mapped to themselves.</li>
+   *   <li>The individual layers are not maintained in the instance state; instead, each layer is
+   *   composed (using {@link LongIntervalMap#andThen(LongIntervalMap)}) with the result obtained to
+   *   that point. Composition replaces each segment of the mapping produced to that point with one
+   *   or more segments formed from the intersections of the output range of the given segment with
+   *   the input ranges of the layer being composed.</li>
+   *   <li>The composition described above starts with {@link LongIntervalMap#IDENTITY}.</li>
+   *   <li>If snapshot caching is enabled (see {@link SnapshotCache}), the seed numbers and the
+   *   merged layer are restored from a snapshot when the content of the file is unchanged from a
+   *   previous run, instead of being parsed and merged again.</li>
    * </ul>
    *
    * @param inputFile Classpath/package-relative location of file from which input is read.
    * @throws IOException If the file referenced by {@code inputFile} cannot be found or read.
    */
   public SeedFertilizer(String inputFile) throws IOException {
-    try (Stream<String> blocks = new DataSource.Builder(this)
+    DataSource source = new DataSource.Builder(this)
         .setInputFile(inputFile)
-        .build()
-        .paragraphs()) {
-      mergedMap = blocks
-          .map(BLOCK_EXTRACTOR::matcher)
-          .filter(Matcher::matches)
-          .map((matcher) -> {
-            String data = matcher.group(2);
-            if (matcher.group(1) != null) {
-              seeds.addAll(getSeeds(data));
-              seedRanges.addAll(getRanges(seeds));
-              return null;
-            }
-            return data;
-          })
-          .filter(Predicate.not(Objects::isNull))
-          .map(this::getMap)
-          .map(this::normalize)
-          .reduce(new TreeMap<>(Map.of(MIN_START, new Mapping(MIN_START, MIN_START, MIN_END))),
-              this::merge);
-    }
+        .build();
+    Almanac almanac = SnapshotCache.load(source, getClass(), Almanac.CODEC, this::parse);
+    seeds = almanac.seeds();
+    seedRanges = getRanges(seeds);
+    mergedMap = almanac.mergedMap();
   }
 
   /**
@@ -148,12 +133,8 @@ public class SeedFertilizer {
    * <p>This method does not modify the state of the instance or have any other side effects.</p>
    */
   public long getLowestLocation() {
-    return seeds
-        .stream()
-        .mapToLong((seed) -> {
-          Mapping mapping = mergedMap.floorEntry(seed).getValue();
-          return seed + mapping.destinationStart() - mapping.sourceStart();
-        })
+    return LongStream.of(seeds)
+        .map(mergedMap::apply)
         .min()
         .orElse(MIN_END);
   }
@@ -163,132 +144,104 @@ public class SeedFertilizer {
    * the seed number ranges listed at the start of the input.
    * <p>Implementation notes: This process does not iterate over all of the values falling in the
    * seed number ranges; instead, it proceeds in a similar fashion to that described for the merging
-   * performed by {@link #SeedFertilizer(String)}: Each range of seed numbers is replaced by one or
-   * more segments, each with a corresponding output range (based on the merge mapping layers).
-   * Since the lowest location value <em>must</em> occur at the start of one of these segments, it
-   * is thus a simple matter to compute the final location value for the seed number at the start of
-   * each segment, and take the lowest of these values.</p>
+   * performed by {@link #SeedFertilizer(String)}: The ranges of seed numbers (as a
+   * {@link LongIntervalSet}) are divided at the segment boundaries of the composed mapping, and
+   * each piece is translated to its output range; the lowest location value is then simply the
+   * lowest value in the resulting set.</p>
    * <p>This method does not modify the state of the instance or have any other side effects.</p>
    */
   public long getLowestInterpolatedLocation() {
-    return seedRanges
-        .stream()
-        .flatMap((range) -> {
-          long start = range.start();
-          long length = range.length();
-          Mapping base = new Mapping(start, start, length);
-          return segments(base, mergedMap);
-        })
-        .mapToLong(Mapping::destinationStart)
-        .min()
-        .orElse(MIN_END);
+    LongIntervalSet locations = mergedMap.image(seedRanges);
+    return locations.isEmpty() ? MIN_END : locations.min();
   }
 
-  private List<Long> getSeeds(String data) {
-    return SEED_SPLITTER
-        .splitAsStream(data)
-        .map(String::strip)
-        .filter(Predicate.not(String::isEmpty))
-        .map(Long::valueOf)
-        .collect(Collectors.toList());
+  private Almanac parse(DataSource source) throws IOException {
+    try (Stream<String> blocks = source.paragraphs()) {
+      List<long[]> seeds = new ArrayList<>(1);
+      LongIntervalMap mergedMap = blocks
+          .map(BLOCK_EXTRACTOR::matcher)
+          .filter(Matcher::matches)
+          .map((matcher) -> {
+            String data = matcher.group(2);
+            if (matcher.group(1) != null) {
+              seeds.add(NumberScanner.longs(data));
+              return null;
+            }
+            return data;
+          })
+          .filter(Predicate.not(Objects::isNull))
+          .map(this::getMap)
+          .reduce(LongIntervalMap.IDENTITY, LongIntervalMap::andThen);
+      return new Almanac(seeds.stream().flatMapToLong(LongStream::of).toArray(), mergedMap);
+    }
   }
 
-  private List<LongRange> getRanges(List<Long> seeds) {
-    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
-            new StreamChunker<>(seeds.iterator(), 2),
-            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false)
-        .map((Stream<Long> stream) -> stream.mapToLong(Long::longValue).toArray())
+  private LongIntervalSet getRanges(long[] seeds) {
+    return new LongChunker(seeds, 2)
+        .stream()
         .map((pair) -> new LongRange(pair[0], pair[1]))
-        .collect(Collectors.toList());
+        .collect(Collectors.collectingAndThen(Collectors.toList(), LongIntervalSet::of));
   }
 
-  private NavigableMap<Long, Mapping> getMap(String data) {
-    NavigableMap<Long, Mapping> map = new TreeMap<>();
+  private LongIntervalMap getMap(String data) {
+    LongIntervalMap.Builder builder = new LongIntervalMap.Builder();
     LINE_SPLITTER
         .splitAsStream(data)
-        .map(String::strip)
-        .map(Mapping::parse)
-        .forEach((mapping) -> map.put(mapping.sourceStart(), mapping));
-    return map;
-  }
-
-  private NavigableMap<Long, Mapping> normalize(NavigableMap<Long, Mapping> map) {
-    long sourceStart = MIN_START;
-    do {
-      Entry<Long, Mapping> entry = map.ceilingEntry(sourceStart);
-      if (entry != null) {
-        long entryStart = entry.getKey();
-        long entryLength = entry.getValue().length();
-        if (entryStart > sourceStart) {
-          map.put(sourceStart, new Mapping(sourceStart, sourceStart, entryStart - sourceStart));
-        }
-        sourceStart = entryStart + entryLength;
-      } else if (sourceStart < MIN_END) {
-        map.put(sourceStart, new Mapping(sourceStart, sourceStart, MIN_END - sourceStart));
-        break;
-      } else {
-        break;
-      }
-    } while (true);
-    return map;
-  }
-
-  private NavigableMap<Long, Mapping> merge(NavigableMap<Long, Mapping> input,
-      NavigableMap<Long, Mapping> output) {
-    NavigableMap<Long, Mapping> merged = new TreeMap<>();
-    input
-        .values()
-        .stream()
-        .flatMap((mapping) -> segments(mapping, output))
-        .forEach((mapping) -> merged.put(mapping.sourceStart(), mapping));
-    return merged;
-  }
-
-  private Stream<Mapping> segments(Mapping base, NavigableMap<Long, Mapping> map) {
-    long destinationStart = base.destinationStart();
-    long destinationEnd = base.destinationEnd();
-    long delta = base.delta();
-    return map
-        .headMap(destinationEnd, false)
-        .entrySet()
-        .stream()
-        .dropWhile((entry) -> entry.getKey() + entry.getValue().length() <= destinationStart)
-        .map((entry) -> {
-          Mapping layer = entry.getValue();
-          long layerDelta = layer.delta();
-          long newDestinationStart = Math.max(destinationStart, layer.sourceStart()) + layerDelta;
-          long newDestinationEnd = Math.min(destinationEnd, layer.sourceEnd()) + layerDelta;
-          long newLength = newDestinationEnd - newDestinationStart;
-          long newSourceStart = newDestinationStart - delta - layerDelta;
-          return new Mapping(newDestinationStart, newSourceStart, newLength);
+        .map(NumberScanner::longs)
+        .forEach((fields) -> {
+          if (fields.length != MAPPING_FIELDS) {
+            throw new IllegalArgumentException();
+          }
+          builder.put(fields[1], fields[0], fields[2]);
         });
+    return builder.build();
   }
 
-  private record Mapping(long destinationStart, long sourceStart, long length) {
+  private record Almanac(long[] seeds, LongIntervalMap mergedMap) {
 
-    private static final Pattern MAPPING_EXTRACTOR =
-        Pattern.compile("\\s*(\\d+)\\s+(\\d+)\\s+(\\d+)\\s*");
+    private static final int CODEC_VERSION = 2;
 
-    public long delta() {
-      return destinationStart - sourceStart;
-    }
+    public static final SnapshotCache.Codec<Almanac> CODEC = new SnapshotCache.Codec<>() {
 
-    public long sourceEnd() {
-      return sourceStart + length;
-    }
+      @Override
+      public int version() {
+        return CODEC_VERSION;
+      }
 
-    public long destinationEnd() {
-      return destinationStart + length;
-    }
+      @Override
+      public void write(Almanac almanac, DataOutput output) throws IOException {
+        output.writeInt(almanac.seeds().length);
+        for (long seed : almanac.seeds()) {
+          output.writeLong(seed);
+        }
+        LongIntervalMap mergedMap = almanac.mergedMap();
+        output.writeInt(mergedMap.size());
+        for (int i = 0; i < mergedMap.size(); i++) {
+          LongRange source = mergedMap.source(i);
+          output.writeLong(source.start());
+          output.writeLong(source.length());
+          output.writeLong(mergedMap.offset(i));
+        }
+      }
 
-    public static Mapping parse(String input) {
-      Matcher matcher = MAPPING_EXTRACTOR.matcher(input);
-      if (!matcher.matches()) {
-        throw new IllegalArgumentException();
+      @Override
+      public Almanac read(ByteBuffer input) {
+        int count = input.getInt();
+        if (count < 0 || count > input.remaining() / Long.BYTES) {
+          throw new IllegalArgumentException();
+        }
+        long[] seeds = new long[count];
+        for (int i = 0; i < count; i++) {
+          seeds[i] = input.getLong();
+        }
+        LongIntervalMap.Builder builder = new LongIntervalMap.Builder();
+        for (int i = input.getInt(); i > 0; i--) {
+          builder.put(new LongRange(input.getLong(), input.getLong()), input.getLong());
+        }
+        return new Almanac(seeds, builder.build());
       }
-      return new Mapping(Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)),
-          Long.parseLong(matcher.group(3)));
-    }
+
+    };
 
   }
 
@@ -20,8 +20,6 @@ import static com.nickbenn.adventofcode.view.Presentation.NUMERIC_SOLUTION_FORMA
 import com.nickbenn.adventofcode.view.DataSource;
 import java.io.IOException;
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,8 +29,6 @@ import java.util.stream.Stream;
  */
 public class MirageMaintenance {
 
-  private static final Pattern SPLITTER = Pattern.compile("\\s+");
-
   private final List<int[]> sensorReadings;
 
   public MirageMaintenance() throws IOException {
@@ -40,15 +36,11 @@ public class MirageMaintenance {
   }
 
   public MirageMaintenance(String inputFile) throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
-      sensorReadings = lines
-          .map((line) -> SPLITTER
-              .splitAsStream(line)
-              .filter(Predicate.not(String::isEmpty))
-              .mapToInt(Integer::parseInt)
-              .toArray()
-          )
-          .collect(Collectors.toList());
+    try (Stream<int[]> rows = new DataSource.Builder(this)
+        .setInputFile(inputFile)
+        .build()
+        .intRows()) {
+      sensorReadings = rows.collect(Collectors.toList());
     }
   }
 
@@ -16,16 +16,13 @@
 package com.nickbenn.adventofcode.day10;
 
 import com.nickbenn.adventofcode.model.CardinalDirection;
+import com.nickbenn.adventofcode.model.DirectionMask;
+import com.nickbenn.adventofcode.model.PackedLocation;
 import com.nickbenn.adventofcode.view.DataSource;
-import com.nickbenn.adventofcode.model.MatrixLocation;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.EnumSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class PipeMaze {
@@ -38,23 +35,23 @@ public class PipeMaze {
   private static final char EAST_SOUTH_SYMBOL = 'F';
   private static final char EAST_WEST_SYMBOL = '-';
   private static final char SOUTH_WEST_SYMBOL = '7';
-
-  private static final Set<CardinalDirection> NO_DIRECTIONS =
-      EnumSet.noneOf(CardinalDirection.class);
-  private static final Set<CardinalDirection> NORTH_EAST_DIRECTIONS =
-      EnumSet.of(CardinalDirection.NORTH, CardinalDirection.EAST);
-  private static final Set<CardinalDirection> NORTH_SOUTH_DIRECTIONS =
-      EnumSet.of(CardinalDirection.NORTH, CardinalDirection.SOUTH);
-  private static final Set<CardinalDirection> NORTH_WEST_DIRECTIONS =
-      EnumSet.of(CardinalDirection.NORTH, CardinalDirection.WEST);
-  private static final Set<CardinalDirection> EAST_SOUTH_DIRECTIONS =
-      EnumSet.of(CardinalDirection.SOUTH, CardinalDirection.EAST);
-  private static final Set<CardinalDirection> EAST_WEST_DIRECTIONS =
-      EnumSet.of(CardinalDirection.WEST, CardinalDirection.EAST);
-  private static final Set<CardinalDirection> SOUTH_WEST_DIRECTIONS =
-      EnumSet.of(CardinalDirection.WEST, CardinalDirection.SOUTH);
-
-  private static final Map<Character, Set<CardinalDirection>> SYMBOL_DIRECTIONS = Map.of(
+  private static final int CARDINAL_DIRECTION_COUNT = CardinalDirection.values().length;
+
+  private static final DirectionMask NO_DIRECTIONS = DirectionMask.NONE;
+  private static final DirectionMask NORTH_EAST_DIRECTIONS =
+      DirectionMask.of(CardinalDirection.NORTH, CardinalDirection.EAST);
+  private static final DirectionMask NORTH_SOUTH_DIRECTIONS =
+      DirectionMask.of(CardinalDirection.NORTH, CardinalDirection.SOUTH);
+  private static final DirectionMask NORTH_WEST_DIRECTIONS =
+      DirectionMask.of(CardinalDirection.NORTH, CardinalDirection.WEST);
+  private static final DirectionMask EAST_SOUTH_DIRECTIONS =
+      DirectionMask.of(CardinalDirection.SOUTH, CardinalDirection.EAST);
+  private static final DirectionMask EAST_WEST_DIRECTIONS =
+      DirectionMask.of(CardinalDirection.WEST, CardinalDirection.EAST);
+  private static final DirectionMask SOUTH_WEST_DIRECTIONS =
+      DirectionMask.of(CardinalDirection.WEST, CardinalDirection.SOUTH);
+
+  private static final Map<Character, DirectionMask> SYMBOL_DIRECTIONS = Map.of(
       START_SYMBOL, NO_DIRECTIONS,
       NORTH_EAST_SYMBOL, NORTH_EAST_DIRECTIONS,
       NORTH_SOUTH_SYMBOL, NORTH_SOUTH_DIRECTIONS,
@@ -64,8 +61,13 @@ public class PipeMaze {
       SOUTH_WEST_SYMBOL, SOUTH_WEST_DIRECTIONS,
       GROUND_SYMBOL, NO_DIRECTIONS
   );
+  private static final DirectionMask[] SYMBOL_TABLE = new DirectionMask[1 << Byte.SIZE];
+
+  static {
+    SYMBOL_DIRECTIONS.forEach((symbol, directions) -> SYMBOL_TABLE[symbol] = directions);
+  }
 
-  private final List<List<Set<CardinalDirection>>> maze;
+  private final DirectionMask[][] maze;
   private final int loopLength;
 
   public PipeMaze() throws IOException {
@@ -77,13 +79,14 @@ public class PipeMaze {
       char[][] maze = lines
           .map(String::toCharArray)
           .toArray(char[][]::new);
-      List<List<Set<CardinalDirection>>> scrubbed = Arrays.stream(maze)
-          .map((row) -> Stream.generate(() -> NO_DIRECTIONS)
-              .limit(row.length)
-              .collect(Collectors.toList())
-          )
-          .collect(Collectors.toList());
-      MatrixLocation startLocation = findStart(maze);
+      DirectionMask[][] scrubbed = Arrays.stream(maze)
+          .map((row) -> {
+            DirectionMask[] scrubbedRow = new DirectionMask[row.length];
+            Arrays.fill(scrubbedRow, NO_DIRECTIONS);
+            return scrubbedRow;
+          })
+          .toArray(DirectionMask[][]::new);
+      long startLocation = findStart(maze);
       loopLength = traceLoop(maze, startLocation, scrubbed);
       this.maze = scrubbed;
     }
@@ -99,76 +102,66 @@ public class PipeMaze {
   }
 
   public int areaEnclosedInLoop() {
-    return maze
-        .stream()
+    return Arrays.stream(maze)
         .mapToInt(this::countInside)
         .sum();
   }
 
-  private int traceLoop(
-      char[][] dirty, MatrixLocation start, List<List<Set<CardinalDirection>>> scrubbed) {
-    CardinalDirection direction = startDirection(dirty, start,
-        scrubbed);
-    MatrixLocation next = start.move(direction);
+  private int traceLoop(char[][] dirty, long start, DirectionMask[][] scrubbed) {
+    CardinalDirection direction = startDirection(dirty, start, scrubbed);
+    long next = PackedLocation.move(start, direction);
     int steps = 1;
     do {
-      scrubbed.get(next.row())
-          .set(next.column(), SYMBOL_DIRECTIONS.get(dirty[next.row()][next.column()]));
-      direction = nextDirection(dirty, next, direction);
-      next = next.move(direction);
+      int row = PackedLocation.row(next);
+      int column = PackedLocation.column(next);
+      DirectionMask directions = symbolDirections(dirty[row][column]);
+      scrubbed[row][column] = directions;
+      direction = CardinalDirection.fromOrdinal(
+          directions.without(direction.opposite()).firstOrdinal());
+      next = PackedLocation.move(next, direction);
       steps++;
-    } while (!next.equals(start));
+    } while (next != start);
     return steps;
   }
 
-  private MatrixLocation findStart(char[][] maze) {
-    MatrixLocation result = null;
-    outer:
+  private long findStart(char[][] maze) {
     for (int rowIndex = 0; rowIndex < maze.length; rowIndex++) {
       for (int colIndex = 0; colIndex < maze[rowIndex].length; colIndex++) {
         if (maze[rowIndex][colIndex] == START_SYMBOL) {
-          result = new MatrixLocation(rowIndex, colIndex);
-          break outer;
+          return PackedLocation.pack(rowIndex, colIndex);
         }
       }
     }
-    return result;
+    throw new IllegalArgumentException();
   }
 
   private CardinalDirection startDirection(
-      char[][] dirty, MatrixLocation start, List<List<Set<CardinalDirection>>> scrubbed) {
-    Set<CardinalDirection> directions = Arrays.stream(CardinalDirection.values())
-        .filter((dir) -> {
-          int newRow = start.row() + dir.rowOffset();
-          int newColumn = start.column() + dir.columnOffset();
-          return newRow >= 0 && newRow < dirty.length
-              && newColumn >= 0 && newColumn < dirty[newRow].length
-              && SYMBOL_DIRECTIONS
-              .get(dirty[start.row() + dir.rowOffset()][start.column() + dir.columnOffset()])
-              .contains(dir.opposite());
-        })
-        .collect(Collectors.toSet());
-    scrubbed.get(start.row()).set(start.column(), directions);
-    return directions
-        .iterator()
-        .next();
+      char[][] dirty, long start, DirectionMask[][] scrubbed) {
+    int startRow = PackedLocation.row(start);
+    int startColumn = PackedLocation.column(start);
+    DirectionMask directions = NO_DIRECTIONS;
+    for (int ordinal = 0; ordinal < CARDINAL_DIRECTION_COUNT; ordinal++) {
+      CardinalDirection dir = CardinalDirection.fromOrdinal(ordinal);
+      int newRow = startRow + dir.rowOffset();
+      int newColumn = startColumn + dir.columnOffset();
+      if (newRow >= 0 && newRow < dirty.length
+          && newColumn >= 0 && newColumn < dirty[newRow].length
+          && symbolDirections(dirty[newRow][newColumn]).contains(dir.opposite())) {
+        directions = directions.with(dir);
+      }
+    }
+    scrubbed[startRow][startColumn] = directions;
+    return CardinalDirection.fromOrdinal(directions.firstOrdinal());
   }
 
-  private CardinalDirection nextDirection(
-      char[][] maze, MatrixLocation from, CardinalDirection arrivingFrom) {
-    char plumbing = maze[from.row()][from.column()];
-    return SYMBOL_DIRECTIONS
-        .get(plumbing)
-        .stream()
-        .filter((dir) -> dir != arrivingFrom.opposite())
-        .findFirst()
-        .orElseThrow();
+  private static DirectionMask symbolDirections(char symbol) {
+    return Objects.requireNonNull(SYMBOL_TABLE[symbol & (SYMBOL_TABLE.length - 1)]);
   }
 
-  private int countInside(List<Set<CardinalDirection>> row) {
+  private int countInside(DirectionMask[] row) {
     CrossingState state = CrossingState.OUTSIDE;
     int count = 0;
-    for (Set<CardinalDirection> directions : row) {
+    for (DirectionMask directions : row) {
       if ((state = state.next(directions)) == CrossingState.INSIDE) {
         count++;
       }
@@ -185,7 +178,7 @@ public class PipeMaze {
     WALL_INSIDE_EAST,
     WALL_INSIDE_WEST;
 
-    private static final Map<CrossingState, Map<Set<CardinalDirection>, CrossingState>> TRANSITIONS =
+    private static final Map<CrossingState, Map<DirectionMask, CrossingState>> TRANSITIONS =
         Map.of(
             INSIDE, Map.of(
                 NORTH_EAST_DIRECTIONS, WALL_INSIDE_SOUTH,
@@ -223,8 +216,16 @@ public class PipeMaze {
             )
         );
 
-    public CrossingState next(Set<CardinalDirection> destination) {
-      return Objects.requireNonNull(TRANSITIONS.get(this).get(destination));
+    private static final CrossingState[][] TRANSITION_TABLE =
+        new CrossingState[values().length][1 << CARDINAL_DIRECTION_COUNT];
+
+    static {
+      TRANSITIONS.forEach((state, transitions) -> transitions.forEach((directions, next) ->
+          TRANSITION_TABLE[state.ordinal()][directions.bits()] = next));
+    }
+
+    public CrossingState next(DirectionMask destination) {
+      return Objects.requireNonNull(TRANSITION_TABLE[ordinal()][destination.bits()]);
     }
 
   }
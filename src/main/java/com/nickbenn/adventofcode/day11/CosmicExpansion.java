@@ -16,74 +16,144 @@
 package com.nickbenn.adventofcode.day11;
 
 import com.nickbenn.adventofcode.view.DataSource;
-import com.nickbenn.adventofcode.model.MatrixLocation;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 public class CosmicExpansion {
 
   private static final char GALAXY_SYMBOL = '#';
+  private static final int DEFAULT_EXPANSION_COEFFICIENT = 2;
 
-  private final List<MatrixLocation> galaxies;
+  private final int expansionCoefficient;
+  private final long baseSum;
+  private final long gapCrossings;
+
+  public CosmicExpansion() throws IOException {
+    this(DataSource.DEFAULT_INPUT_FILE);
+  }
+
+  public CosmicExpansion(String inputFile) throws IOException {
+    this(inputFile, DEFAULT_EXPANSION_COEFFICIENT);
+  }
 
   public CosmicExpansion(int expansionCoefficient) throws IOException {
     this(DataSource.DEFAULT_INPUT_FILE, expansionCoefficient);
   }
 
+  /**
+   * Initializes this instance by reading the map row by row, without retaining it. Only the galaxy
+   * counts of each column, and running aggregates over the rows read so far, are kept, so memory
+   * use is proportional to the width of the map, regardless of its height.
+   */
   public CosmicExpansion(String inputFile, int expansionCoefficient) throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
-      char[][] galaxyMap = lines
-          .map(String::toCharArray)
-          .toArray(char[][]::new);
-      galaxies = extractLocations(galaxyMap, expansionCoefficient);
+    this.expansionCoefficient = expansionCoefficient;
+    try (Stream<String> lines = new DataSource.Builder(this)
+        .setInputFile(inputFile)
+        .build()
+        .lines()) {
+      GalaxyScan scan = new GalaxyScan();
+      lines.forEach(scan::addRow);
+      scan.finish();
+      baseSum = scan.distanceSum;
+      gapCrossings = scan.gapCrossings;
     }
   }
 
   public static void main(String[] args) throws IOException {
-    System.out.println(new CosmicExpansion(2).getShortestPathsSum());
-    System.out.println(new CosmicExpansion(1_000_000).getShortestPathsSum());
+    CosmicExpansion expansion = new CosmicExpansion();
+    System.out.println(expansion.getShortestPathsSum(2));
+    System.out.println(expansion.getShortestPathsSum(1_000_000));
   }
 
   public long getShortestPathsSum() {
-    long sum = 0;
-    for (int fromIndex = 0; fromIndex < galaxies.size() - 1; fromIndex++) {
-      MatrixLocation from = galaxies.get(fromIndex);
-      for (int toIndex = fromIndex + 1; toIndex < galaxies.size(); toIndex++) {
-        MatrixLocation to = galaxies.get(toIndex);
-        sum += from.manhattanDistance(to);
+    return getShortestPathsSum(expansionCoefficient);
+  }
+
+  /**
+   * Returns the sum of the shortest paths between all pairs of galaxies, with each empty row and
+   * column expanded to {@code expansionCoefficient} rows or columns. Since each empty row or column
+   * crossed by a path adds {@code expansionCoefficient - 1} to its length, the sum is affine in the
+   * coefficient, and is computed in constant time from values obtained when the map is read.
+   */
+  public long getShortestPathsSum(long expansionCoefficient) {
+    return baseSum + (expansionCoefficient - 1) * gapCrossings;
+  }
+
+  /**
+   * Returns the results of {@link #getShortestPathsSum(long)} for each of
+   * {@code expansionCoefficients}, in the same order.
+   */
+  public long[] getShortestPathsSums(long... expansionCoefficients) {
+    return LongStream.of(expansionCoefficients)
+        .map(this::getShortestPathsSum)
+        .toArray();
+  }
+
+  /**
+   * Accumulates the pairwise distance sum and gap crossing count for a map read one row at a time.
+   * Since rows arrive in ascending order, each new galaxy's row distance to every galaxy already
+   * seen is {@code row * count - rowSum}, where {@code count} and {@code rowSum} are running
+   * totals; the same holds for the number of empty rows preceding each galaxy. Column contributions
+   * are computed in the same way, in {@link #finish()}, by walking the per-column galaxy counts.
+   */
+  private static class GalaxyScan {
+
+    private static final int INITIAL_WIDTH = 1 << 8;
+
+    private long[] columnCounts = new long[INITIAL_WIDTH];
+    private int width;
+    private int row;
+    private int emptyRows;
+    private long galaxyCount;
+    private long rowSum;
+    private long emptyRowSum;
+    private long distanceSum;
+    private long gapCrossings;
+
+    public void addRow(String line) {
+      if (line.length() > columnCounts.length) {
+        columnCounts =
+            Arrays.copyOf(columnCounts, Math.max(line.length(), 2 * columnCounts.length));
+      }
+      width = Math.max(width, line.length());
+      int rowGalaxies = 0;
+      for (int colIndex = line.indexOf(GALAXY_SYMBOL); colIndex >= 0;
+          colIndex = line.indexOf(GALAXY_SYMBOL, colIndex + 1)) {
+        columnCounts[colIndex]++;
+        rowGalaxies++;
       }
+      if (rowGalaxies == 0) {
+        emptyRows++;
+      } else {
+        distanceSum += rowGalaxies * (galaxyCount * row - rowSum);
+        gapCrossings += rowGalaxies * (galaxyCount * emptyRows - emptyRowSum);
+        galaxyCount += rowGalaxies;
+        rowSum += (long) rowGalaxies * row;
+        emptyRowSum += (long) rowGalaxies * emptyRows;
+      }
+      row++;
     }
-    return sum;
-  }
 
-  private List<MatrixLocation> extractLocations(char[][] galaxyMap, int expansionCoefficient) {
-    List<MatrixLocation> galaxies = new ArrayList<>();
-    int[] rowOffsets = new int[galaxyMap.length];
-    int[] columnOffsets = new int[galaxyMap[0].length];
-    int[] columnGalaxyCounts = new int[columnOffsets.length];
-    int rowOffset = 0;
-    for (int rowIndex = 0; rowIndex < galaxyMap.length; rowIndex++) {
-      int rowGalaxyCount = 0;
-      for (int colIndex = 0; colIndex < galaxyMap[rowIndex].length; colIndex++) {
-        if (galaxyMap[rowIndex][colIndex] == GALAXY_SYMBOL) {
-          rowGalaxyCount++;
-          columnGalaxyCounts[colIndex]++;
-          galaxies.add(new MatrixLocation(rowIndex, colIndex));
+    public void finish() {
+      long count = 0;
+      long columnSum = 0;
+      long emptyColumnSum = 0;
+      for (int colIndex = 0, emptyColumns = 0; colIndex < width; colIndex++) {
+        long columnGalaxies = columnCounts[colIndex];
+        if (columnGalaxies == 0) {
+          emptyColumns++;
+        } else {
+          distanceSum += columnGalaxies * (count * colIndex - columnSum);
+          gapCrossings += columnGalaxies * (count * emptyColumns - emptyColumnSum);
+          count += columnGalaxies;
+          columnSum += columnGalaxies * colIndex;
+          emptyColumnSum += columnGalaxies * emptyColumns;
         }
       }
-      rowOffset += ((rowGalaxyCount == 0) ? (expansionCoefficient - 1) : 0);
-      rowOffsets[rowIndex] = rowOffset;
     }
-    for (int colIndex = 0, colOffset = 0; colIndex < columnGalaxyCounts.length; colIndex++) {
-      colOffset += ((columnGalaxyCounts[colIndex] == 0) ? (expansionCoefficient - 1) : 0);
-      columnOffsets[colIndex] = colOffset;
-    }
-    return galaxies
-        .stream()
-        .map((location) -> new MatrixLocation(location.row() + rowOffsets[location.row()], location.column() + columnOffsets[location.column()]))
-        .toList();
+
   }
 
 }
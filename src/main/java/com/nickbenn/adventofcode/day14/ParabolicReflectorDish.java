@@ -17,82 +17,43 @@ package com.nickbenn.adventofcode.day14;
 
 import static com.nickbenn.adventofcode.view.Presentation.NUMERIC_SOLUTION_FORMAT;
 
+import com.nickbenn.adventofcode.model.ByteGrid;
 import com.nickbenn.adventofcode.model.CardinalDirection;
-import com.nickbenn.adventofcode.model.MatrixLocation;
 import com.nickbenn.adventofcode.view.DataSource;
-import com.nickbenn.adventofcode.view.Presentation;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiFunction;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 public class ParabolicReflectorDish {
 
-  private static final char ROUND_ROCK = 'O';
-  private static final char EMPTY_SPACE = '.';
+  private static final byte ROUND_ROCK = 'O';
+  private static final byte CUBE_ROCK = '#';
+  private static final byte EMPTY_SPACE = '.';
   private static final List<CardinalDirection> CYCLE = List.of(CardinalDirection.NORTH,
       CardinalDirection.WEST, CardinalDirection.SOUTH, CardinalDirection.EAST);
   private static final int NUM_CYCLES = 1_000_000_000;
-  private static final Map<CardinalDirection, Function<char[][], IntStream>>
-      ROW_INDEX_STREAMS = Map.of(
-      CardinalDirection.NORTH, (platform) ->
-          IntStream.range(0, platform.length),
-      CardinalDirection.EAST, (platform) ->
-          IntStream.range(0, platform.length),
-      CardinalDirection.SOUTH, (platform) ->
-          IntStream.range(0, platform.length)
-              .map((raw) -> platform.length - 1 - raw),
-      CardinalDirection.WEST, (platform) ->
-          IntStream.range(0, platform.length)
-  );
-  private static final Map<CardinalDirection, Function<char[][], IntStream>>
-      COLUMN_INDEX_STREAMS = Map.of(
-      CardinalDirection.NORTH, (platform) ->
-          IntStream.range(0, platform[0].length),
-      CardinalDirection.EAST, (platform) ->
-          IntStream.range(0, platform[0].length)
-              .map((raw) -> platform[0].length - 1 - raw),
-      CardinalDirection.SOUTH, (platform) ->
-          IntStream.range(0, platform[0].length),
-      CardinalDirection.WEST, (platform) ->
-          IntStream.range(0, platform[0].length)
-  );
-  private static final Map<CardinalDirection,
-      BiFunction<char[][], MatrixLocation, Stream<MatrixLocation>>> SLIDE_INDEX_STREAMS = Map.of(
-      CardinalDirection.NORTH, (platform, location) ->
-          IntStream.range(0, location.row())
-              .map((raw) -> location.row() - 1 - raw)
-              .mapToObj((rowIndex) -> new MatrixLocation(rowIndex, location.column())),
-      CardinalDirection.EAST, (platform, location) ->
-          IntStream.range(location.column() + 1, platform[0].length)
-              .mapToObj((colIndex) -> new MatrixLocation(location.row(), colIndex)),
-      CardinalDirection.SOUTH, (platform, location) ->
-          IntStream.range(location.row() + 1, platform.length)
-              .mapToObj((rowIndex) -> new MatrixLocation(rowIndex, location.column())),
-      CardinalDirection.WEST, (platform, location) ->
-          IntStream.range(0, location.column())
-              .map((raw) -> location.column() - 1 - raw)
-              .mapToObj((colIndex) -> new MatrixLocation(location.row(), colIndex))
-  );
 
-  private final char[][] platform;
+  private final ByteGrid platform;
+  private final Map<CardinalDirection, ByteGrid> tiltViews;
 
   public ParabolicReflectorDish() throws IOException {
     this(DataSource.DEFAULT_INPUT_FILE);
   }
 
   public ParabolicReflectorDish(String inputFile) throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
-      platform = lines
-          .map(String::toCharArray)
-          .toArray(char[][]::new);
-    }
+    platform = new DataSource.Builder(this)
+        .setInputFile(inputFile)
+        .build()
+        .grid();
+    // Each view is oriented so that tilting in the keyed direction is tilting toward its top row.
+    tiltViews = Map.of(
+        CardinalDirection.NORTH, platform,
+        CardinalDirection.WEST, platform.rotatedClockwise(),
+        CardinalDirection.SOUTH, platform.rotatedClockwise().rotatedClockwise(),
+        CardinalDirection.EAST, platform.rotatedCounterclockwise()
+    );
   }
 
   public static void main(String[] args) throws IOException {
@@ -110,7 +71,7 @@ public class ParabolicReflectorDish {
     return IntStream.rangeClosed(1, NUM_CYCLES)
         .peek((cycleIndex)-> CYCLE.forEach(this::tilt))
         .map((currentCycle) -> {
-          String key = getPlatformKey();
+          String key = platform.toString();
           Integer previousCycle = history.putIfAbsent(key, currentCycle);
           return (previousCycle == null)
               ? currentCycle
@@ -123,42 +84,34 @@ public class ParabolicReflectorDish {
   }
 
   private void tilt(CardinalDirection direction) {
-    ROW_INDEX_STREAMS
-        .get(direction)
-        .apply(platform)
-        .forEach((rowIndex) -> {
-          COLUMN_INDEX_STREAMS
-              .get(direction)
-              .apply(platform)
-              .filter((colIndex) -> platform[rowIndex][colIndex] == ROUND_ROCK)
-              .forEach((colIndex) -> slide(new MatrixLocation(rowIndex, colIndex), direction));
-        });
-  }
-
-  private void slide(MatrixLocation start, CardinalDirection direction) {
-    SLIDE_INDEX_STREAMS
-        .get(direction)
-        .apply(platform, start)
-        .takeWhile((location) -> platform[location.row()][location.column()] == EMPTY_SPACE)
-        .reduce((a, b) -> b)
-        .ifPresent((end) -> {
-          platform[end.row()][end.column()] = ROUND_ROCK;
-          platform[start.row()][start.column()] = EMPTY_SPACE;
-        });
+    ByteGrid view = tiltViews.get(direction);
+    int height = view.height();
+    int rowStride = view.rowStride();
+    for (int colIndex = 0; colIndex < view.width(); colIndex++) {
+      int top = view.index(0, colIndex);
+      int target = top;
+      for (int rowIndex = 0, index = top; rowIndex < height; rowIndex++, index += rowStride) {
+        byte cell = view.get(index);
+        if (cell == CUBE_ROCK) {
+          target = index + rowStride;
+        } else if (cell == ROUND_ROCK) {
+          if (index != target) {
+            view.set(target, ROUND_ROCK);
+            view.set(index, EMPTY_SPACE);
+          }
+          target += rowStride;
+        }
+      }
+    }
   }
 
   private int getLoad() {
-    return IntStream.range(0, platform.length)
-        .flatMap((rowIndex) -> IntStream.range(0, platform[0].length)
-            .filter((colIndex) -> platform[rowIndex][colIndex] == ROUND_ROCK)
-            .map((colIndex) -> platform.length - rowIndex))
+    int height = platform.height();
+    return IntStream.range(0, height)
+        .flatMap((rowIndex) -> IntStream.range(0, platform.width())
+            .filter((colIndex) -> platform.get(rowIndex, colIndex) == ROUND_ROCK)
+            .map((colIndex) -> height - rowIndex))
         .sum();
   }
 
-  private String getPlatformKey() {
-    return Arrays.stream(platform)
-        .map(String::valueOf)
-        .collect(Collectors.joining());
-  }
-
 }
@@ -17,21 +17,15 @@ package com.nickbenn.adventofcode.day16;
 
 import static com.nickbenn.adventofcode.view.Presentation.NUMERIC_SOLUTION_FORMAT;
 
+import com.nickbenn.adventofcode.model.ByteGrid;
 import com.nickbenn.adventofcode.model.CardinalDirection;
-import com.nickbenn.adventofcode.model.Direction;
-import com.nickbenn.adventofcode.model.MatrixLocation;
+import com.nickbenn.adventofcode.model.DirectionMask;
 import com.nickbenn.adventofcode.view.DataSource;
 import java.io.IOException;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 public class LavaFloor {
 
@@ -39,9 +33,10 @@ public class LavaFloor {
   private static final char HORIZONTAL_SPLITTER = '-';
   private static final char NORTH_EAST_MIRROR = '/';
   private static final char NORTH_WEST_MIRROR = '\\';
-  private static final Photon INITIAL_PHOTON =
-      new Photon(new MatrixLocation(0, 0), CardinalDirection.EAST);
-  private static final Map<? extends Direction, Map<Character, Collection<? extends Direction>>>
+  private static final byte OUT_OF_BOUNDS = 0;
+  private static final int DIRECTION_COUNT = CardinalDirection.values().length;
+  private static final int INITIAL_STACK_SIZE = 1 << 6;
+  private static final Map<CardinalDirection, Map<Character, List<CardinalDirection>>>
       INTERACTION_RULES = Map.of(
       CardinalDirection.NORTH, Map.of(
           HORIZONTAL_SPLITTER, List.of(CardinalDirection.EAST, CardinalDirection.WEST),
@@ -64,19 +59,30 @@ public class LavaFloor {
           NORTH_WEST_MIRROR, List.of(CardinalDirection.NORTH)
       )
   );
+  private static final byte[][] REDIRECTION_TABLE = new byte[DIRECTION_COUNT][1 << Byte.SIZE];
+
+  static {
+    INTERACTION_RULES.forEach((direction, rules) -> {
+      byte[] redirections = REDIRECTION_TABLE[direction.ordinal()];
+      Arrays.fill(redirections, (byte) DirectionMask.bit(direction));
+      rules.forEach((tile, turns) -> redirections[tile] =
+          (byte) DirectionMask.of(turns.toArray(CardinalDirection[]::new)).bits());
+    });
+  }
 
-  private final char[][] grid;
+  private final ByteGrid grid;
+  private final int[] offsets;
 
   public LavaFloor() throws IOException {
     this(DataSource.DEFAULT_INPUT_FILE);
   }
 
   public LavaFloor(String inputFile) throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
-      grid = lines
-          .map(String::toCharArray)
-          .toArray(char[][]::new);
-    }
+    grid = new DataSource.Builder(this)
+        .setInputFile(inputFile)
+        .build()
+        .grid(OUT_OF_BOUNDS);
+    offsets = grid.offsets(CardinalDirection.values());
   }
 
   public static void main(String[] args) throws IOException {
@@ -85,60 +91,79 @@ public class LavaFloor {
   }
 
   public int countEnergizedTiles() {
-    return countEnergizedTiles(INITIAL_PHOTON);
+    return countEnergizedTiles(grid.index(0, 0), CardinalDirection.EAST);
   }
 
   public int countMaxEnergizedTiles() {
-    return Stream.concat(
-            IntStream.range(0, grid.length)
-                .boxed()
-                .flatMap((rowIndex) -> Stream.of(
-                    new Photon(new MatrixLocation(rowIndex, 0), CardinalDirection.EAST),
-                    new Photon(new MatrixLocation(rowIndex, grid[0].length - 1), CardinalDirection.WEST)
+    int height = grid.height();
+    int width = grid.width();
+    return IntStream.concat(
+            IntStream.range(0, height)
+                .flatMap((rowIndex) -> IntStream.of(
+                    countEnergizedTiles(grid.index(rowIndex, 0), CardinalDirection.EAST),
+                    countEnergizedTiles(grid.index(rowIndex, width - 1), CardinalDirection.WEST)
                 )),
-            IntStream.range(0, grid[0].length)
-                .boxed()
-                .flatMap((colIndex) -> Stream.of(
-                    new Photon(new MatrixLocation(0, colIndex), CardinalDirection.SOUTH),
-                    new Photon(new MatrixLocation(grid.length - 1, colIndex), CardinalDirection.NORTH)
+            IntStream.range(0, width)
+                .flatMap((colIndex) -> IntStream.of(
+                    countEnergizedTiles(grid.index(0, colIndex), CardinalDirection.SOUTH),
+                    countEnergizedTiles(grid.index(height - 1, colIndex), CardinalDirection.NORTH)
                 ))
         )
-        .mapToInt(this::countEnergizedTiles)
         .max()
         .orElseThrow();
   }
 
-  private int countEnergizedTiles(Photon initialPhoton) {
-    Map<MatrixLocation, Set<Direction>> energized = new HashMap<>();
-    Queue<Photon> photons = new LinkedList<>(List.of(initialPhoton));
-    for (Photon photon = photons.poll(); photon != null; photon = photons.poll()) {
-      MatrixLocation location = photon.location();
-      Direction direction = photon.direction();
-      if (isInBounds(location)
-          && !energized.computeIfAbsent(location, (loc) -> new HashSet<>()).contains(direction)) {
-        energized.get(location).add(direction);
-        photons.addAll(next(location, direction));
+  private int countEnergizedTiles(int initialIndex, CardinalDirection initialDirection) {
+    byte[] traversed = new byte[grid.length()];
+    int energized = 0;
+    PhotonStack photons = new PhotonStack();
+    photons.push(initialIndex, initialDirection.ordinal());
+    while (!photons.isEmpty()) {
+      int direction = photons.peekDirection();
+      int index = photons.popIndex();
+      byte tile = grid.get(index);
+      int bit = 1 << direction;
+      if (tile != OUT_OF_BOUNDS && (traversed[index] & bit) == 0) {
+        if (traversed[index] == 0) {
+          energized++;
+        }
+        traversed[index] |= (byte) bit;
+        for (int redirections = REDIRECTION_TABLE[direction][tile & 0xff]; redirections != 0;
+            redirections &= redirections - 1) {
+          int redirection = Integer.numberOfTrailingZeros(redirections);
+          photons.push(index + offsets[redirection], redirection);
+        }
       }
     }
-    return energized.size();
+    return energized;
   }
 
-  private boolean isInBounds(MatrixLocation location) {
-    int row = location.row();
-    int column = location.column();
-    return row >= 0 && row < grid.length && column >= 0 && column < grid[0].length;
-  }
+  private static class PhotonStack {
 
-  private List<Photon> next(MatrixLocation location, Direction direction) {
-    return INTERACTION_RULES
-        .get(direction)
-        .getOrDefault(grid[location.row()][location.column()], List.of(direction))
-        .stream()
-        .map((dir) -> new Photon(location.move(dir), dir))
-        .toList();
-  }
+    private int[] indices = new int[INITIAL_STACK_SIZE];
+    private byte[] directions = new byte[INITIAL_STACK_SIZE];
+    private int size;
+
+    public void push(int index, int direction) {
+      if (size == indices.length) {
+        indices = Arrays.copyOf(indices, 2 * size);
+        directions = Arrays.copyOf(directions, 2 * size);
+      }
+      indices[size] = index;
+      directions[size++] = (byte) direction;
+    }
+
+    public boolean isEmpty() {
+      return size == 0;
+    }
 
-  private record Photon(MatrixLocation location, Direction direction) {
+    public int peekDirection() {
+      return directions[size - 1];
+    }
+
+    public int popIndex() {
+      return indices[--size];
+    }
 
   }
 
@@ -15,27 +15,23 @@
  */
 package com.nickbenn.adventofcode.day17;
 
+import com.nickbenn.adventofcode.model.ByteGrid;
 import com.nickbenn.adventofcode.view.DataSource;
 import java.io.IOException;
-import java.util.stream.Stream;
 
 public class ClumsyCrucible {
 
-  private final int[][] costs;
+  private final ByteGrid costs;
 
   public ClumsyCrucible() throws IOException {
     this(DataSource.DEFAULT_INPUT_FILE);
   }
 
   public ClumsyCrucible(String inputFile) throws IOException {
-    try (Stream<String> lines = DataSource.simpleLines(inputFile, this)) {
-      costs = lines
-          .map((line) -> line
-              .chars()
-              .map((c) -> c - '0')
-              .toArray())
-          .toArray(int[][]::new);
-    }
+    costs = new DataSource.Builder(this)
+        .setInputFile(inputFile)
+        .build()
+        .digitGrid();
   }
 
   public static void main(String[] args) throws IOException {
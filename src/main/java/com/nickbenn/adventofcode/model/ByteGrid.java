@@ -0,0 +1,262 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Two-dimensional grid of {@code byte} values, stored in a single row-major array. A grid may
+ * optionally be surrounded by a border of cells (of a specified width, and filled with a specified
+ * sentinel value) lying outside the nominal bounds of the grid; reads from the border are
+ * permitted, so that code walking from a cell to its neighbors can test for the sentinel value,
+ * instead of checking row and column indices against the grid bounds.
+ * <p>Cells can be addressed either by row and column, or by flat index (as returned by
+ * {@link #index(int, int)}). Moving one row up or down from a flat index is equivalent to
+ * subtracting or adding {@link #rowStride()}; moving one column left or right is equivalent to
+ * subtracting or adding {@link #columnStride()} (which is 1, except in rotated or transposed
+ * views).</p>
+ */
+public final class ByteGrid implements Grid {
+
+  private final byte[] cells;
+  private final GridLayout layout;
+
+  /**
+   * Initializes this instance with the specified dimensions, with no border, and with all cells
+   * set to 0.
+   *
+   * @param height Number of rows.
+   * @param width  Number of columns.
+   */
+  public ByteGrid(int height, int width) {
+    this(height, width, 0, (byte) 0);
+  }
+
+  /**
+   * Initializes this instance with the specified dimensions, surrounded by a border
+   * {@code border} cells wide, with all cells (including the border cells) set to
+   * {@code sentinel}.
+   *
+   * @param height   Number of rows (not including border).
+   * @param width    Number of columns (not including border).
+   * @param border   Width of border.
+   * @param sentinel Initial value of all cells.
+   */
+  public ByteGrid(int height, int width, int border, byte sentinel) {
+    layout = GridLayout.of(height, width, border);
+    cells = new byte[Math.multiplyExact(height + 2 * border, layout.storageStride())];
+    if (sentinel != 0) {
+      Arrays.fill(cells, sentinel);
+    }
+  }
+
+  private ByteGrid(byte[] cells, GridLayout layout) {
+    this.cells = cells;
+    this.layout = layout;
+  }
+
+  @Override
+  public int height() {
+    return layout.height();
+  }
+
+  @Override
+  public int width() {
+    return layout.width();
+  }
+
+  @Override
+  public int border() {
+    return layout.border();
+  }
+
+  @Override
+  public int rowStride() {
+    return layout.rowStride();
+  }
+
+  @Override
+  public int columnStride() {
+    return layout.columnStride();
+  }
+
+  @Override
+  public int length() {
+    return cells.length;
+  }
+
+  @Override
+  public int index(int row, int column) {
+    return layout.index(row, column);
+  }
+
+  @Override
+  public int row(int index) {
+    return layout.row(index);
+  }
+
+  @Override
+  public int column(int index) {
+    return layout.column(index);
+  }
+
+  /**
+   * Returns the value of the cell with the specified flat index.
+   */
+  public byte get(int index) {
+    return cells[index];
+  }
+
+  /**
+   * Returns the value of the cell at the specified row and column.
+   */
+  public byte get(int row, int column) {
+    return cells[index(row, column)];
+  }
+
+  /**
+   * Returns the value of the cell at the specified location.
+   */
+  public byte get(MatrixLocation location) {
+    return cells[index(location)];
+  }
+
+  /**
+   * Sets the value of the cell with the specified flat index.
+   */
+  public void set(int index, byte value) {
+    cells[index] = value;
+  }
+
+  /**
+   * Sets the value of the cell at the specified row and column.
+   */
+  public void set(int row, int column, byte value) {
+    cells[index(row, column)] = value;
+  }
+
+  /**
+   * Copies {@code length} bytes from {@code source} (starting at absolute position
+   * {@code offset}, and without modifying the position of {@code source}) into the specified row
+   * of this grid, starting at column 0.
+   *
+   * @throws IndexOutOfBoundsException If {@code length > width()}, or if {@code row} is not in the
+   *                                   range {@code 0..(height() - 1)}.
+   */
+  public void setRow(int row, ByteBuffer source, int offset, int length) {
+    if (row < 0 || row >= height() || length > width()) {
+      throw new IndexOutOfBoundsException();
+    }
+    int columnStride = columnStride();
+    if (columnStride == 1) {
+      source.get(offset, cells, index(row, 0), length);
+    } else {
+      for (int column = 0, index = index(row, 0); column < length; column++) {
+        cells[index] = source.get(offset + column);
+        index += columnStride;
+      }
+    }
+  }
+
+  /**
+   * Returns a live view of the specified row of this grid (not including the border) as a
+   * {@link CharSequence}, with each {@code byte} value widened to a {@code char}. This is intended
+   * for grids of ASCII characters, for comparing or hashing rows without copying them.
+   */
+  public CharSequence rowView(int row) {
+    return new LineView(index(row, 0), columnStride(), width());
+  }
+
+  /**
+   * Returns a live view of the specified column of this grid (not including the border) as a
+   * {@link CharSequence}, read from top to bottom.
+   *
+   * @see #rowView(int)
+   */
+  public CharSequence columnView(int column) {
+    return new LineView(index(0, column), rowStride(), height());
+  }
+
+  @Override
+  public ByteGrid transposed() {
+    return new ByteGrid(cells, layout.transpose());
+  }
+
+  @Override
+  public ByteGrid rotatedClockwise() {
+    return new ByteGrid(cells, layout.rotateClockwise());
+  }
+
+  @Override
+  public ByteGrid rotatedCounterclockwise() {
+    return new ByteGrid(cells, layout.rotateCounterclockwise());
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder((width() + 1) * height());
+    for (int row = 0; row < height(); row++) {
+      builder.append(rowView(row)).append('\n');
+    }
+    return builder.toString();
+  }
+
+  private class LineView implements CharSequence {
+
+    private final int start;
+    private final int stride;
+    private final int length;
+
+    private LineView(int start, int stride, int length) {
+      this.start = start;
+      this.stride = stride;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= length) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      return (char) (cells[start + index * stride] & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if (start < 0 || end > length || start > end) {
+        throw new IndexOutOfBoundsException();
+      }
+      return new LineView(this.start + start * stride, stride, end - start);
+    }
+
+    @Override
+    public String toString() {
+      char[] chars = new char[length];
+      for (int i = 0, index = start; i < length; i++, index += stride) {
+        chars[i] = (char) (cells[index] & 0xff);
+      }
+      return new String(chars);
+    }
+
+  }
+
+}
@@ -30,6 +30,21 @@ public enum CardinalDirection implements Direction {
   SOUTH(1, 0),
   WEST(0, -1);
 
+  private static final CardinalDirection[] VALUES = values();
+  private static final CardinalDirection[] OPPOSITES = new CardinalDirection[VALUES.length];
+  private static final CardinalDirection[] CLOCKWISE = new CardinalDirection[VALUES.length];
+  private static final CardinalDirection[] COUNTERCLOCKWISE = new CardinalDirection[VALUES.length];
+
+  static {
+    int length = VALUES.length;
+    for (CardinalDirection direction : VALUES) {
+      int ordinal = direction.ordinal();
+      OPPOSITES[ordinal] = VALUES[(ordinal + length / 2) % length];
+      CLOCKWISE[ordinal] = VALUES[(ordinal + 1) % length];
+      COUNTERCLOCKWISE[ordinal] = VALUES[(ordinal - 1 + length) % length];
+    }
+  }
+
   private final int rowOffset;
   private final int columnOffset;
 
@@ -50,35 +65,38 @@ public enum CardinalDirection implements Direction {
 
   @Override
   public CardinalDirection opposite() {
-    CardinalDirection[] values = values();
-    int length = values.length;
-    return values[(ordinal() + length / 2) % length];
+    return OPPOSITES[ordinal()];
   }
 
   @Override
   public CardinalDirection nextClockwise() {
-    CardinalDirection[] values = values();
-    return values[(ordinal() + 1) % values.length];
+    return CLOCKWISE[ordinal()];
   }
 
   @Override
   public CardinalDirection nextCounterClockwise() {
-    CardinalDirection[] values = values();
-    return values[(ordinal() - 1 + values.length) % values.length];
+    return COUNTERCLOCKWISE[ordinal()];
   }
 
   public static CardinalDirection choose(RandomGenerator rng, Predicate<CardinalDirection> filter) {
-    CardinalDirection[] values = values();
-    return values[rng.nextInt(values.length)];
+    return VALUES[rng.nextInt(VALUES.length)];
   }
 
   public static Stream<Direction> stream() {
-    return Stream.of(values());
+    return Stream.of(VALUES);
+  }
+
+  /**
+   * Returns the direction with the specified ordinal value, without the copying performed by
+   * {@link #values()}.
+   */
+  public static CardinalDirection fromOrdinal(int ordinal) {
+    return VALUES[ordinal];
   }
 
   public static Stream<Direction> randomStream(Random rng) {
     List<Direction> shuffled = new ArrayList<>();
-    Collections.addAll(shuffled, values());
+    Collections.addAll(shuffled, VALUES);
     Collections.shuffle(shuffled, rng);
     return shuffled.stream();
   }
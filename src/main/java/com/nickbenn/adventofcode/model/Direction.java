@@ -41,6 +41,13 @@ public interface Direction {
    */
   int columnOffset();
 
+  /**
+   * Returns the position of this direction in its enumeration (or other ordered set of
+   * directions), for use as an index into direction-keyed lookup tables and as a bit position in a
+   * {@link DirectionMask}. Enum implementations satisfy this with {@link Enum#ordinal()}.
+   */
+  int ordinal();
+
   /**
    * Returns a {@link Direction} instance in the opposite direction of this one.
    */
@@ -0,0 +1,157 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+/**
+ * Immutable set of directions, represented as a bit mask in which each direction occupies the bit
+ * position given by its {@link Direction#ordinal()}. A mask holds up to 8 directions, which is
+ * sufficient for {@link CardinalDirection} (4 bits) and {@link PrincipalDirection} (8 bits); the
+ * bit positions (and thus the meaning of a mask) are specific to the direction type used to create
+ * it.
+ * <p>All 256 possible instances are created in advance, so no operation on this class allocates;
+ * the factory methods and operations return the shared instance for the resulting bits.</p>
+ */
+public final class DirectionMask {
+
+  private static final int MAX_BITS = Byte.SIZE;
+  private static final DirectionMask[] INSTANCES = new DirectionMask[1 << MAX_BITS];
+
+  static {
+    for (int bits = 0; bits < INSTANCES.length; bits++) {
+      INSTANCES[bits] = new DirectionMask(bits);
+    }
+  }
+
+  /**
+   * Mask containing no directions.
+   */
+  public static final DirectionMask NONE = INSTANCES[0];
+
+  private final int bits;
+
+  private DirectionMask(int bits) {
+    this.bits = bits;
+  }
+
+  /**
+   * Returns the instance with the specified bits set.
+   *
+   * @throws IllegalArgumentException If {@code bits} has any bit set other than the low 8 bits.
+   */
+  public static DirectionMask ofBits(int bits) {
+    if ((bits & ~(INSTANCES.length - 1)) != 0) {
+      throw new IllegalArgumentException();
+    }
+    return INSTANCES[bits];
+  }
+
+  /**
+   * Returns the instance containing exactly the specified directions.
+   */
+  public static DirectionMask of(Direction... directions) {
+    int bits = 0;
+    for (Direction direction : directions) {
+      bits |= bit(direction);
+    }
+    return INSTANCES[bits];
+  }
+
+  /**
+   * Returns the single bit corresponding to {@code direction}.
+   */
+  public static int bit(Direction direction) {
+    return 1 << direction.ordinal();
+  }
+
+  /**
+   * Returns the bits of this mask.
+   */
+  public int bits() {
+    return bits;
+  }
+
+  /**
+   * Returns a flag indicating whether this mask contains {@code direction}.
+   */
+  public boolean contains(Direction direction) {
+    return (bits & bit(direction)) != 0;
+  }
+
+  /**
+   * Returns the mask containing the directions in this mask, and {@code direction}.
+   */
+  public DirectionMask with(Direction direction) {
+    return INSTANCES[bits | bit(direction)];
+  }
+
+  /**
+   * Returns the mask containing the directions in this mask, except {@code direction}.
+   */
+  public DirectionMask without(Direction direction) {
+    return INSTANCES[bits & ~bit(direction)];
+  }
+
+  /**
+   * Returns the mask containing the directions in this mask, in {@code other}, or in both.
+   */
+  public DirectionMask union(DirectionMask other) {
+    return INSTANCES[bits | other.bits];
+  }
+
+  /**
+   * Returns the mask containing the directions in both this mask and {@code other}.
+   */
+  public DirectionMask intersection(DirectionMask other) {
+    return INSTANCES[bits & other.bits];
+  }
+
+  /**
+   * Returns the number of directions in this mask.
+   */
+  public int size() {
+    return Integer.bitCount(bits);
+  }
+
+  /**
+   * Returns a flag indicating whether this mask contains no directions.
+   */
+  public boolean isEmpty() {
+    return bits == 0;
+  }
+
+  /**
+   * Returns the lowest ordinal of the directions in this mask, or -1 if it is empty.
+   */
+  public int firstOrdinal() {
+    return (bits == 0) ? -1 : Integer.numberOfTrailingZeros(bits);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj == this || (obj instanceof DirectionMask other && other.bits == bits);
+  }
+
+  @Override
+  public int hashCode() {
+    return bits;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("DirectionMask[%8s]", Integer.toBinaryString(bits)).replace(' ', '0');
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+/**
+ * Declares the addressing operations shared by two-dimensional grids stored in flat arrays. Every
+ * cell (including any cells in a sentinel border) has a flat index, and moving one step in any
+ * {@link Direction} from a cell changes its flat index by a fixed offset; thus, code walking a grid
+ * can work entirely with {@code int} indices, without allocating {@link MatrixLocation} instances
+ * and&mdash;when the grid has a border filled with a sentinel value&mdash;without bounds checks.
+ * <p>A grid may be a view of another grid, sharing the same storage but with rows and columns
+ * mapped differently (e.g. {@link #transposed()} and {@link #rotatedClockwise()}). Flat indices
+ * always refer to the shared storage, so an index obtained from a view may be used with the
+ * original grid (and vice versa), while row and column values are specific to each view.</p>
+ */
+public interface Grid {
+
+  /**
+   * Returns the number of rows in this grid, not including the border.
+   */
+  int height();
+
+  /**
+   * Returns the number of columns in this grid, not including the border.
+   */
+  int width();
+
+  /**
+   * Returns the width of the border surrounding this grid.
+   */
+  int border();
+
+  /**
+   * Returns the difference between the flat indices of vertically adjacent cells; this is negative
+   * if moving down in this grid moves up or to the left in the underlying storage.
+   */
+  int rowStride();
+
+  /**
+   * Returns the difference between the flat indices of horizontally adjacent cells; this is 1 for a
+   * grid that is not a rotated or transposed view.
+   */
+  int columnStride();
+
+  /**
+   * Returns the total number of cells in the storage of this grid, including border cells. Flat
+   * indices of all cells (including border cells) are in the range {@code 0..(length() - 1)}.
+   */
+  int length();
+
+  /**
+   * Returns the flat index of the cell at the specified row and column. Row and column values may
+   * fall in the border (i.e. they may be as low as {@code -border()}, and as high as
+   * {@code height() + border() - 1} and {@code width() + border() - 1}, respectively).
+   */
+  int index(int row, int column);
+
+  /**
+   * Returns the flat index of the cell at the specified location.
+   */
+  default int index(MatrixLocation location) {
+    return index(location.row(), location.column());
+  }
+
+  /**
+   * Returns the row of the cell with the specified flat index.
+   */
+  int row(int index);
+
+  /**
+   * Returns the column of the cell with the specified flat index.
+   */
+  int column(int index);
+
+  /**
+   * Returns a flag indicating whether the specified location lies within the nominal bounds of
+   * this grid (i.e. not in the border, or beyond).
+   */
+  default boolean isInBounds(int row, int column) {
+    return row >= 0 && row < height() && column >= 0 && column < width();
+  }
+
+  /**
+   * Returns the change in flat index that results from a single step in {@code direction}.
+   */
+  default int offset(Direction direction) {
+    return direction.rowOffset() * rowStride() + direction.columnOffset() * columnStride();
+  }
+
+  /**
+   * Returns the changes in flat index that result from a single step in each of
+   * {@code directions}, indexed by {@link Direction#ordinal()}. The returned array can be cached,
+   * so that neighbor iteration in an inner loop is reduced to array reads and additions.
+   */
+  default int[] offsets(Direction[] directions) {
+    int[] offsets = new int[directions.length];
+    for (Direction direction : directions) {
+      offsets[direction.ordinal()] = offset(direction);
+    }
+    return offsets;
+  }
+
+  /**
+   * Returns the flat index of the neighbor, in {@code direction}, of the cell with the specified
+   * flat index.
+   */
+  default int neighbor(int index, Direction direction) {
+    return index + offset(direction);
+  }
+
+  /**
+   * Returns a view of this grid with rows and columns exchanged, so that the cell at
+   * {@code (row, column)} in the view is the cell at {@code (column, row)} in this grid.
+   */
+  Grid transposed();
+
+  /**
+   * Returns a view of this grid rotated 90&deg; clockwise, so that the top row of the view is the
+   * leftmost column of this grid (read from bottom to top).
+   */
+  Grid rotatedClockwise();
+
+  /**
+   * Returns a view of this grid rotated 90&deg; counterclockwise, so that the top row of the view
+   * is the rightmost column of this grid (read from top to bottom).
+   */
+  Grid rotatedCounterclockwise();
+
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+/**
+ * Mapping between row and column coordinates and flat indices, shared by the {@link Grid}
+ * implementations. The flat index of {@code (row, column)} is
+ * {@code origin + row * rowStride + column * columnStride}; views such as transpositions and
+ * rotations are obtained by changing only the origin, the strides, and the dimensions.
+ * <p>To invert the mapping, a flat index is first decomposed into a row and column of the
+ * underlying storage (where rows are {@code storageStride} apart); {@code transposed} records
+ * whether rows of the view run along columns of the storage.</p>
+ */
+record GridLayout(int height, int width, int border, int storageStride, int origin,
+    int rowStride, int columnStride, boolean transposed) {
+
+  static GridLayout of(int height, int width, int border) {
+    if (height < 0 || width < 0 || border < 0) {
+      throw new IllegalArgumentException();
+    }
+    int stride = width + 2 * border;
+    return new GridLayout(
+        height, width, border, stride, border * stride + border, stride, 1, false);
+  }
+
+  int index(int row, int column) {
+    return origin + row * rowStride + column * columnStride;
+  }
+
+  int row(int index) {
+    return transposed
+        ? storageColumnDelta(index) * Integer.signum(rowStride)
+        : storageRowDelta(index) * Integer.signum(rowStride);
+  }
+
+  int column(int index) {
+    return transposed
+        ? storageRowDelta(index) * Integer.signum(columnStride)
+        : storageColumnDelta(index) * Integer.signum(columnStride);
+  }
+
+  GridLayout transpose() {
+    return new GridLayout(width, height, border, storageStride, origin,
+        columnStride, rowStride, !transposed);
+  }
+
+  GridLayout rotateClockwise() {
+    return new GridLayout(width, height, border, storageStride,
+        origin + (height - 1) * rowStride, columnStride, -rowStride, !transposed);
+  }
+
+  GridLayout rotateCounterclockwise() {
+    return new GridLayout(width, height, border, storageStride,
+        origin + (width - 1) * columnStride, -columnStride, rowStride, !transposed);
+  }
+
+  private int storageRowDelta(int index) {
+    return Math.floorDiv(index, storageStride) - Math.floorDiv(origin, storageStride);
+  }
+
+  private int storageColumnDelta(int index) {
+    return Math.floorMod(index, storageStride) - Math.floorMod(origin, storageStride);
+  }
+
+}
@@ -0,0 +1,199 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Two-dimensional grid of {@code int} values, stored in a single row-major array, with an optional
+ * sentinel border. Apart from the type of the cell values, addressing and views are as described
+ * for {@link ByteGrid}; this class is intended for grids of costs, distances, or labels that don't
+ * fit in a {@code byte}.
+ */
+public final class IntGrid implements Grid {
+
+  private final int[] cells;
+  private final GridLayout layout;
+
+  /**
+   * Initializes this instance with the specified dimensions, with no border, and with all cells
+   * set to 0.
+   *
+   * @param height Number of rows.
+   * @param width  Number of columns.
+   */
+  public IntGrid(int height, int width) {
+    this(height, width, 0, 0);
+  }
+
+  /**
+   * Initializes this instance with the specified dimensions, surrounded by a border
+   * {@code border} cells wide, with all cells (including the border cells) set to
+   * {@code sentinel}.
+   *
+   * @param height   Number of rows (not including border).
+   * @param width    Number of columns (not including border).
+   * @param border   Width of border.
+   * @param sentinel Initial value of all cells.
+   */
+  public IntGrid(int height, int width, int border, int sentinel) {
+    layout = GridLayout.of(height, width, border);
+    cells = new int[Math.multiplyExact(height + 2 * border, layout.storageStride())];
+    if (sentinel != 0) {
+      Arrays.fill(cells, sentinel);
+    }
+  }
+
+  private IntGrid(int[] cells, GridLayout layout) {
+    this.cells = cells;
+    this.layout = layout;
+  }
+
+  /**
+   * Returns a new {@code IntGrid} with the same dimensions and border as {@code source}, and with
+   * each cell (including border cells) set to the corresponding {@code byte} value of
+   * {@code source}, widened without sign extension.
+   */
+  public static IntGrid of(ByteGrid source) {
+    IntGrid grid = new IntGrid(source.height(), source.width(), source.border(), 0);
+    int border = source.border();
+    for (int row = -border; row < source.height() + border; row++) {
+      for (int column = -border; column < source.width() + border; column++) {
+        grid.set(row, column, source.get(row, column) & 0xff);
+      }
+    }
+    return grid;
+  }
+
+  @Override
+  public int height() {
+    return layout.height();
+  }
+
+  @Override
+  public int width() {
+    return layout.width();
+  }
+
+  @Override
+  public int border() {
+    return layout.border();
+  }
+
+  @Override
+  public int rowStride() {
+    return layout.rowStride();
+  }
+
+  @Override
+  public int columnStride() {
+    return layout.columnStride();
+  }
+
+  @Override
+  public int length() {
+    return cells.length;
+  }
+
+  @Override
+  public int index(int row, int column) {
+    return layout.index(row, column);
+  }
+
+  @Override
+  public int row(int index) {
+    return layout.row(index);
+  }
+
+  @Override
+  public int column(int index) {
+    return layout.column(index);
+  }
+
+  /**
+   * Returns the value of the cell with the specified flat index.
+   */
+  public int get(int index) {
+    return cells[index];
+  }
+
+  /**
+   * Returns the value of the cell at the specified row and column.
+   */
+  public int get(int row, int column) {
+    return cells[index(row, column)];
+  }
+
+  /**
+   * Returns the value of the cell at the specified location.
+   */
+  public int get(MatrixLocation location) {
+    return cells[index(location)];
+  }
+
+  /**
+   * Sets the value of the cell with the specified flat index.
+   */
+  public void set(int index, int value) {
+    cells[index] = value;
+  }
+
+  /**
+   * Sets the value of the cell at the specified row and column.
+   */
+  public void set(int row, int column, int value) {
+    cells[index(row, column)] = value;
+  }
+
+  /**
+   * Returns a lazily evaluated stream of the values in the specified row of this grid (not
+   * including the border), from left to right.
+   */
+  public IntStream rowValues(int row) {
+    int start = index(row, 0);
+    int stride = columnStride();
+    return IntStream.range(0, width())
+        .map((column) -> cells[start + column * stride]);
+  }
+
+  /**
+   * Returns a lazily evaluated stream of the values in the specified column of this grid (not
+   * including the border), from top to bottom.
+   */
+  public IntStream columnValues(int column) {
+    int start = index(0, column);
+    int stride = rowStride();
+    return IntStream.range(0, height())
+        .map((row) -> cells[start + row * stride]);
+  }
+
+  @Override
+  public IntGrid transposed() {
+    return new IntGrid(cells, layout.transpose());
+  }
+
+  @Override
+  public IntGrid rotatedClockwise() {
+    return new IntGrid(cells, layout.rotateClockwise());
+  }
+
+  @Override
+  public IntGrid rotatedCounterclockwise() {
+    return new IntGrid(cells, layout.rotateCounterclockwise());
+  }
+
+}
@@ -39,6 +39,44 @@ public record IntRectangle(int topRow, int leftColumn, int height, int width)
     this(location.row(), location.column(), 1, 1);
   }
 
+  /**
+   * Returns the row following the last row of this rectangle.
+   */
+  public int endRow() {
+    return topRow + height;
+  }
+
+  /**
+   * Returns the column following the last column of this rectangle.
+   */
+  public int endColumn() {
+    return leftColumn + width;
+  }
+
+  /**
+   * Returns a flag indicating whether this rectangle contains no cells.
+   */
+  public boolean isEmpty() {
+    return height <= 0 || width <= 0;
+  }
+
+  /**
+   * Returns a flag indicating whether the cell at {@code (row, column)} lies in this rectangle.
+   */
+  public boolean contains(int row, int column) {
+    return row >= topRow && row < endRow() && column >= leftColumn && column < endColumn();
+  }
+
+  /**
+   * Returns a flag indicating whether this rectangle and {@code other} have at least one cell in
+   * common.
+   */
+  public boolean intersects(IntRectangle other) {
+    return !isEmpty() && !other.isEmpty()
+        && topRow < other.endRow() && other.topRow < endRow()
+        && leftColumn < other.endColumn() && other.leftColumn < endColumn();
+  }
+
   @Override
   public int compareTo(@SuppressWarnings("NullableProblems") IntRectangle other) {
     return NATURAL_ORDER.compare(this, other);
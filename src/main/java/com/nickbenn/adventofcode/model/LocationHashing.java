@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+/**
+ * Hashing and sizing policy shared by {@link LocationSet} and {@link LocationMap}.
+ */
+final class LocationHashing {
+
+  private static final long MULTIPLIER = 0x9e3779b97f4a7c15L;
+  private static final int MAX_CAPACITY = 1 << 30;
+  private static final int MIN_CAPACITY = 4;
+
+  private LocationHashing() {
+  }
+
+  /**
+   * Returns a well-mixed hash of {@code location}; the low bits of the result are suitable for use
+   * as a table index.
+   */
+  static int hash(long location) {
+    long mixed = location * MULTIPLIER;
+    return (int) (mixed ^ (mixed >>> Integer.SIZE));
+  }
+
+  /**
+   * Returns the smallest power-of-2 table size able to hold {@code expectedSize} elements without
+   * exceeding the load threshold.
+   */
+  static int tableSize(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException();
+    }
+    long required = Math.max(MIN_CAPACITY, (long) expectedSize * 4 / 3 + 1);
+    if (required > MAX_CAPACITY) {
+      throw new IllegalArgumentException();
+    }
+    return Integer.highestOneBit((int) required - 1) << 1;
+  }
+
+  /**
+   * Returns the number of elements above which a table of size {@code capacity} must be resized
+   * (a load factor of 0.75).
+   */
+  static int threshold(int capacity) {
+    return capacity - (capacity >>> 2);
+  }
+
+}
@@ -0,0 +1,262 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Map from packed locations (see {@link PackedLocation}) to values of type {@code V}, stored in an
+ * open-addressing hash table with linear probing, using parallel arrays of {@code long} keys and
+ * values. Lookups and updates do not allocate any objects (except when the table is resized), and
+ * keys are never boxed.
+ * <p>Like {@link java.util.HashMap}, this class permits a {@code null} value; however, since
+ * {@link #get(long)} returns {@code null} for an absent key, {@link #containsKey(long)} must be
+ * used to distinguish the two cases.</p>
+ *
+ * @param <V> Value type.
+ */
+public final class LocationMap<V> {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] keys;
+  private Object[] values;
+  private int mask;
+  private int size;
+  private boolean containsEmpty;
+  private V emptyValue;
+
+  /**
+   * Initializes this instance with a default initial capacity.
+   */
+  public LocationMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Initializes this instance with sufficient capacity for {@code expectedSize} entries, without
+   * resizing.
+   */
+  public LocationMap(int expectedSize) {
+    allocate(LocationHashing.tableSize(expectedSize));
+  }
+
+  /**
+   * Returns the value associated with {@code location}, or {@code null} if there is none.
+   */
+  public V get(long location) {
+    V value = null;
+    if (location == EMPTY) {
+      value = emptyValue;
+    } else {
+      int index = find(location);
+      if (index >= 0) {
+        value = valueAt(index);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Returns the value associated with {@code location}, or {@code defaultValue} if there is none.
+   */
+  public V getOrDefault(long location, V defaultValue) {
+    return containsKey(location) ? get(location) : defaultValue;
+  }
+
+  /**
+   * Returns a flag indicating whether there is a value associated with {@code location}.
+   */
+  public boolean containsKey(long location) {
+    return (location == EMPTY) ? containsEmpty : find(location) >= 0;
+  }
+
+  /**
+   * Associates {@code value} with {@code location}, returning the value previously associated with
+   * it (or {@code null} if there was none).
+   */
+  public V put(long location, V value) {
+    V previous;
+    if (location == EMPTY) {
+      previous = emptyValue;
+      emptyValue = value;
+      if (!containsEmpty) {
+        containsEmpty = true;
+        grow();
+      }
+    } else {
+      int index = slot(location);
+      previous = valueAt(index);
+      values[index] = value;
+      if (keys[index] == EMPTY) {
+        keys[index] = location;
+        grow();
+      }
+    }
+    return previous;
+  }
+
+  /**
+   * Returns the value associated with {@code location}; if there is none, a value is computed by
+   * {@code mappingFunction}, associated with {@code location}, and returned.
+   */
+  public V computeIfAbsent(long location, LongFunction<? extends V> mappingFunction) {
+    V value;
+    if (containsKey(location)) {
+      value = get(location);
+    } else {
+      value = mappingFunction.apply(location);
+      put(location, value);
+    }
+    return value;
+  }
+
+  /**
+   * Removes any value associated with {@code location}, returning that value (or {@code null} if
+   * there was none).
+   */
+  public V remove(long location) {
+    V previous = null;
+    if (location == EMPTY) {
+      if (containsEmpty) {
+        previous = emptyValue;
+        emptyValue = null;
+        containsEmpty = false;
+        size--;
+      }
+    } else {
+      int index = find(location);
+      if (index >= 0) {
+        previous = valueAt(index);
+        shiftBack(index);
+        size--;
+      }
+    }
+    return previous;
+  }
+
+  /**
+   * Returns the number of entries in this map.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a flag indicating whether this map is empty.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes all entries from this map, retaining its current capacity.
+   */
+  public void clear() {
+    Arrays.fill(keys, EMPTY);
+    Arrays.fill(values, null);
+    containsEmpty = false;
+    emptyValue = null;
+    size = 0;
+  }
+
+  /**
+   * Invokes {@code action} for each entry in this map, in no particular order.
+   */
+  public void forEach(EntryConsumer<? super V> action) {
+    if (containsEmpty) {
+      action.accept(EMPTY, emptyValue);
+    }
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY) {
+        action.accept(keys[i], valueAt(i));
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private V valueAt(int index) {
+    return (V) values[index];
+  }
+
+  private int find(long location) {
+    int index = slot(location);
+    return (keys[index] == location) ? index : -1;
+  }
+
+  private int slot(long location) {
+    int index = LocationHashing.hash(location) & mask;
+    long key;
+    while ((key = keys[index]) != EMPTY && key != location) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  private void shiftBack(int index) {
+    int hole = index;
+    for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+      int home = LocationHashing.hash(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+    }
+    keys[hole] = EMPTY;
+    values[hole] = null;
+  }
+
+  private void grow() {
+    if (++size > LocationHashing.threshold(keys.length)) {
+      long[] oldKeys = keys;
+      Object[] oldValues = values;
+      allocate(2 * oldKeys.length);
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != EMPTY) {
+          int index = slot(oldKeys[i]);
+          keys[index] = oldKeys[i];
+          values[index] = oldValues[i];
+        }
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    Arrays.fill(keys, EMPTY);
+    mask = capacity - 1;
+  }
+
+  /**
+   * Operation accepting a packed location and an associated value.
+   *
+   * @param <V> Value type.
+   */
+  @FunctionalInterface
+  public interface EntryConsumer<V> {
+
+    /**
+     * Performs this operation on the specified packed location and value.
+     */
+    void accept(long location, V value);
+
+  }
+
+}
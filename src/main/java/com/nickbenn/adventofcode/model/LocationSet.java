@@ -0,0 +1,201 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of packed locations (see {@link PackedLocation}), stored in an open-addressing hash table of
+ * {@code long} values, with linear probing. Adding, testing, and removing elements does not
+ * allocate any objects (except when the table is resized), and no boxing is performed.
+ * <p>Since every {@code long} value is a valid packed location, the value used to mark empty slots
+ * in the table is tracked separately when it is itself an element.</p>
+ */
+public final class LocationSet {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] slots;
+  private int mask;
+  private int size;
+  private boolean containsEmpty;
+
+  /**
+   * Initializes this instance with a default initial capacity.
+   */
+  public LocationSet() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Initializes this instance with sufficient capacity for {@code expectedSize} elements, without
+   * resizing.
+   */
+  public LocationSet(int expectedSize) {
+    allocate(LocationHashing.tableSize(expectedSize));
+  }
+
+  /**
+   * Adds {@code location} to this set, returning {@code true} if it was not already present.
+   */
+  public boolean add(long location) {
+    boolean added;
+    if (location == EMPTY) {
+      added = !containsEmpty;
+      containsEmpty = true;
+    } else {
+      int index = LocationHashing.hash(location) & mask;
+      long slot;
+      while ((slot = slots[index]) != EMPTY && slot != location) {
+        index = (index + 1) & mask;
+      }
+      added = slot == EMPTY;
+      if (added) {
+        slots[index] = location;
+      }
+    }
+    if (added && ++size > LocationHashing.threshold(slots.length)) {
+      resize();
+    }
+    return added;
+  }
+
+  /**
+   * Returns a flag indicating whether {@code location} is present in this set.
+   */
+  public boolean contains(long location) {
+    if (location == EMPTY) {
+      return containsEmpty;
+    }
+    int index = LocationHashing.hash(location) & mask;
+    long slot;
+    while ((slot = slots[index]) != EMPTY) {
+      if (slot == location) {
+        return true;
+      }
+      index = (index + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * Removes {@code location} from this set, returning {@code true} if it was present.
+   */
+  public boolean remove(long location) {
+    boolean removed;
+    if (location == EMPTY) {
+      removed = containsEmpty;
+      containsEmpty = false;
+    } else {
+      int index = LocationHashing.hash(location) & mask;
+      long slot;
+      while ((slot = slots[index]) != EMPTY && slot != location) {
+        index = (index + 1) & mask;
+      }
+      removed = slot != EMPTY;
+      if (removed) {
+        shiftBack(index);
+      }
+    }
+    if (removed) {
+      size--;
+    }
+    return removed;
+  }
+
+  /**
+   * Returns the number of elements in this set.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a flag indicating whether this set is empty.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes all elements from this set, retaining its current capacity.
+   */
+  public void clear() {
+    Arrays.fill(slots, EMPTY);
+    containsEmpty = false;
+    size = 0;
+  }
+
+  /**
+   * Invokes {@code action} for each element of this set, in no particular order.
+   */
+  public void forEach(LongConsumer action) {
+    if (containsEmpty) {
+      action.accept(EMPTY);
+    }
+    for (long slot : slots) {
+      if (slot != EMPTY) {
+        action.accept(slot);
+      }
+    }
+  }
+
+  /**
+   * Returns the elements of this set in a new array, sorted in row-major order.
+   */
+  public long[] toSortedArray() {
+    long[] elements = new long[size];
+    int[] count = {0};
+    forEach((location) -> elements[count[0]++] = location);
+    Arrays.sort(elements);
+    return elements;
+  }
+
+  private void shiftBack(int index) {
+    int hole = index;
+    for (int next = (hole + 1) & mask; slots[next] != EMPTY; next = (next + 1) & mask) {
+      int home = LocationHashing.hash(slots[next]) & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        slots[hole] = slots[next];
+        hole = next;
+      }
+    }
+    slots[hole] = EMPTY;
+  }
+
+  private void allocate(int capacity) {
+    slots = new long[capacity];
+    Arrays.fill(slots, EMPTY);
+    mask = capacity - 1;
+  }
+
+  private void resize() {
+    long[] old = slots;
+    allocate(2 * old.length);
+    for (long location : old) {
+      if (location != EMPTY) {
+        int index = LocationHashing.hash(location) & mask;
+        while (slots[index] != EMPTY) {
+          index = (index + 1) & mask;
+        }
+        slots[index] = location;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,246 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable piecewise-translation mapping of {@code long} values: the domain is divided into
+ * disjoint {@link LongRange} segments, each with an offset added to the values in that segment;
+ * values not in any segment are mapped to themselves. Segments are stored in parallel primitive
+ * arrays, sorted by start, so that {@link #apply(long)} is a binary search, and the image of a
+ * range (or of a {@link LongIntervalSet}) is computed by walking the overlapping segments in
+ * order.
+ */
+public final class LongIntervalMap {
+
+  /** Mapping of every value to itself. */
+  public static final LongIntervalMap IDENTITY =
+      new LongIntervalMap(new long[0], new long[0], new long[0]);
+
+  private final long[] starts;
+  private final long[] ends;
+  private final long[] offsets;
+
+  private LongIntervalMap(long[] starts, long[] ends, long[] offsets) {
+    this.starts = starts;
+    this.ends = ends;
+    this.offsets = offsets;
+  }
+
+  /**
+   * Returns the result of mapping {@code value}.
+   */
+  public long apply(long value) {
+    int index = segmentContaining(value);
+    return (index < 0) ? value : value + offsets[index];
+  }
+
+  /**
+   * Returns the set of values resulting from mapping each of the values in {@code range}.
+   */
+  public LongIntervalSet image(LongRange range) {
+    List<LongRange> images = new ArrayList<>();
+    collectImages(range, images);
+    return LongIntervalSet.of(images);
+  }
+
+  /**
+   * Returns the set of values resulting from mapping each of the values in {@code set}.
+   */
+  public LongIntervalSet image(LongIntervalSet set) {
+    List<LongRange> images = new ArrayList<>();
+    set.ranges().forEach((range) -> collectImages(range, images));
+    return LongIntervalSet.of(images);
+  }
+
+  /**
+   * Returns the composition of this mapping followed by {@code next}; that is, the returned mapping
+   * maps {@code value} to {@code next.apply(apply(value))}.
+   */
+  public LongIntervalMap andThen(LongIntervalMap next) {
+    Builder builder = new Builder();
+    forEachPiece(Long.MIN_VALUE, Long.MAX_VALUE, (start, end, offset) ->
+        next.forEachPiece(start + offset, end + offset, (nextStart, nextEnd, nextOffset) ->
+            builder.putBounds(nextStart - offset, nextEnd - offset, offset + nextOffset)));
+    return builder.build();
+  }
+
+  /**
+   * Returns the number of segments (with non-zero offsets) in this mapping.
+   */
+  public int size() {
+    return starts.length;
+  }
+
+  /**
+   * Returns the source range of the segment at position {@code index}, in ascending order.
+   */
+  public LongRange source(int index) {
+    return LongRange.between(starts[index], ends[index]);
+  }
+
+  /**
+   * Returns the offset added to values in the segment at position {@code index}.
+   */
+  public long offset(int index) {
+    return offsets[index];
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return this == obj
+        || (obj instanceof LongIntervalMap other
+        && Arrays.equals(starts, other.starts)
+        && Arrays.equals(ends, other.ends)
+        && Arrays.equals(offsets, other.offsets));
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Arrays.hashCode(starts) + Arrays.hashCode(ends)) + Arrays.hashCode(offsets);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("{");
+    for (int i = 0; i < starts.length; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(starts[i]).append("..").append(ends[i] - 1).append("=")
+          .append(offsets[i] >= 0 ? "+" : "").append(offsets[i]);
+    }
+    return builder.append('}').toString();
+  }
+
+  private void collectImages(LongRange range, List<LongRange> images) {
+    forEachPiece(range.start(), range.end(), (start, end, offset) ->
+        images.add(LongRange.between(start + offset, end + offset)));
+  }
+
+  /**
+   * Divides {@code start..(end - 1)} into maximal pieces with a constant offset (including the
+   * identity pieces between segments), passing each piece to {@code consumer} in ascending order.
+   */
+  private void forEachPiece(long start, long end, PieceConsumer consumer) {
+    int index = firstSegmentEndingAfter(start);
+    for (long position = start; position < end; ) {
+      if (index < starts.length && starts[index] <= position) {
+        long pieceEnd = Math.min(ends[index], end);
+        consumer.accept(position, pieceEnd, offsets[index++]);
+        position = pieceEnd;
+      } else {
+        long pieceEnd = (index < starts.length) ? Math.min(starts[index], end) : end;
+        consumer.accept(position, pieceEnd, 0);
+        position = pieceEnd;
+      }
+    }
+  }
+
+  private int segmentContaining(long value) {
+    int index = firstSegmentEndingAfter(value);
+    return (index < starts.length && starts[index] <= value) ? index : -1;
+  }
+
+  private int firstSegmentEndingAfter(long value) {
+    int position = Arrays.binarySearch(ends, value);
+    return (position >= 0) ? position + 1 : -position - 1;
+  }
+
+  @FunctionalInterface
+  private interface PieceConsumer {
+
+    void accept(long start, long end, long offset);
+
+  }
+
+  /**
+   * Accumulates segments for a {@link LongIntervalMap}. Segments may be added in any order, but
+   * must not overlap; segments with an offset of 0, and empty segments, are discarded, and adjacent
+   * segments with the same offset are merged.
+   */
+  public static final class Builder {
+
+    private final List<Segment> segments = new ArrayList<>();
+
+    /**
+     * Adds a segment that maps each value in {@code source} by adding {@code offset}.
+     *
+     * @return This instance, for invocation chaining.
+     */
+    public Builder put(LongRange source, long offset) {
+      putBounds(source.start(), source.end(), offset);
+      return this;
+    }
+
+    /**
+     * Adds a segment that maps {@code sourceStart..(sourceStart + length - 1)} to
+     * {@code destinationStart..(destinationStart + length - 1)}.
+     *
+     * @return This instance, for invocation chaining.
+     */
+    public Builder put(long sourceStart, long destinationStart, long length) {
+      return put(new LongRange(sourceStart, length), destinationStart - sourceStart);
+    }
+
+    // Bounds are used directly (rather than a LongRange) in composition, since the identity pieces
+    // between segments may be longer than Long.MAX_VALUE.
+    private void putBounds(long start, long end, long offset) {
+      if (offset != 0 && end > start) {
+        segments.add(new Segment(start, end, offset));
+      }
+    }
+
+    /**
+     * Builds and returns a {@link LongIntervalMap} with the segments added to this builder.
+     *
+     * @throws IllegalArgumentException If any of the segments overlap.
+     */
+    public LongIntervalMap build() {
+      segments.sort(Comparator.comparingLong(Segment::start));
+      long[] starts = new long[segments.size()];
+      long[] ends = new long[segments.size()];
+      long[] offsets = new long[segments.size()];
+      int count = 0;
+      for (Segment segment : segments) {
+        if (count > 0 && segment.start() < ends[count - 1]) {
+          throw new IllegalArgumentException();
+        }
+        if (count > 0 && segment.start() == ends[count - 1]
+            && segment.offset() == offsets[count - 1]) {
+          ends[count - 1] = segment.end();
+        } else {
+          starts[count] = segment.start();
+          ends[count] = segment.end();
+          offsets[count++] = segment.offset();
+        }
+      }
+      return (count == 0)
+          ? IDENTITY
+          : new LongIntervalMap(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count),
+              Arrays.copyOf(offsets, count));
+    }
+
+    private record Segment(long start, long end, long offset) {
+    }
+
+  }
+
+}
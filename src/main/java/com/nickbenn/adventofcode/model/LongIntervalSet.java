@@ -0,0 +1,240 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of {@code long} values, represented as a sorted sequence of disjoint,
+ * non-adjacent {@link LongRange} intervals. The intervals are stored as alternating start and end
+ * bounds in a single {@code long[]}, so no keys are boxed; the set operations ({@link #union},
+ * {@link #intersection}, and {@link #subtract}) are computed in a single merge pass over the bounds
+ * of both operands.
+ */
+public final class LongIntervalSet {
+
+  /** Set containing no values. */
+  public static final LongIntervalSet EMPTY = new LongIntervalSet(new long[0]);
+
+  private static final int UNION = 0b1110;
+  private static final int INTERSECTION = 0b1000;
+  private static final int DIFFERENCE = 0b0100;
+
+  private final long[] bounds;
+
+  private LongIntervalSet(long[] bounds) {
+    this.bounds = bounds;
+  }
+
+  /**
+   * Returns the set of values included in any of {@code ranges}. The ranges may be in any order,
+   * and may overlap; empty ranges are ignored.
+   */
+  public static LongIntervalSet of(LongRange... ranges) {
+    return of(Arrays.asList(ranges));
+  }
+
+  /**
+   * Returns the set of values included in any of {@code ranges}. The ranges may be in any order,
+   * and may overlap; empty ranges are ignored.
+   */
+  public static LongIntervalSet of(Collection<LongRange> ranges) {
+    LongRange[] sorted = ranges
+        .stream()
+        .filter((range) -> !range.isEmpty())
+        .sorted((a, b) -> Long.compare(a.start(), b.start()))
+        .toArray(LongRange[]::new);
+    long[] bounds = new long[2 * sorted.length];
+    int count = 0;
+    for (LongRange range : sorted) {
+      if (count > 0 && range.start() <= bounds[count - 1]) {
+        bounds[count - 1] = Math.max(bounds[count - 1], range.end());
+      } else {
+        bounds[count++] = range.start();
+        bounds[count++] = range.end();
+      }
+    }
+    return (count == 0) ? EMPTY : new LongIntervalSet(Arrays.copyOf(bounds, count));
+  }
+
+  /**
+   * Returns the set of values in this set or {@code other}, or both.
+   */
+  public LongIntervalSet union(LongIntervalSet other) {
+    return combine(other, UNION);
+  }
+
+  /**
+   * Returns the set of values in both this set and {@code other}.
+   */
+  public LongIntervalSet intersection(LongIntervalSet other) {
+    return combine(other, INTERSECTION);
+  }
+
+  /**
+   * Returns the set of values in this set, but not in {@code other}.
+   */
+  public LongIntervalSet subtract(LongIntervalSet other) {
+    return combine(other, DIFFERENCE);
+  }
+
+  /**
+   * Returns a flag indicating whether {@code value} is in this set.
+   */
+  public boolean contains(long value) {
+    int position = Arrays.binarySearch(bounds, value);
+    // A start bound is found at an even position; an end bound (excluded) at an odd position. If
+    // not found, the value is inside an interval if the insertion point follows a start bound.
+    return (position >= 0) ? (position & 1) == 0 : ((-position - 1) & 1) == 1;
+  }
+
+  /**
+   * Returns a flag indicating whether this set contains no values.
+   */
+  public boolean isEmpty() {
+    return bounds.length == 0;
+  }
+
+  /**
+   * Returns the number of disjoint intervals in this set.
+   */
+  public int size() {
+    return bounds.length / 2;
+  }
+
+  /**
+   * Returns the total number of values in this set.
+   */
+  public long count() {
+    long count = 0;
+    for (int i = 0; i < bounds.length; i += 2) {
+      count += bounds[i + 1] - bounds[i];
+    }
+    return count;
+  }
+
+  /**
+   * Returns the lowest value in this set.
+   *
+   * @throws NoSuchElementException If this set is empty.
+   */
+  public long min() {
+    if (bounds.length == 0) {
+      throw new NoSuchElementException();
+    }
+    return bounds[0];
+  }
+
+  /**
+   * Returns the highest value in this set.
+   *
+   * @throws NoSuchElementException If this set is empty.
+   */
+  public long max() {
+    if (bounds.length == 0) {
+      throw new NoSuchElementException();
+    }
+    return bounds[bounds.length - 1] - 1;
+  }
+
+  /**
+   * Returns the interval of this set at position {@code index}, in ascending order.
+   *
+   * @throws IndexOutOfBoundsException If {@code index} is not in the range
+   *                                   {@code 0..(size() - 1)}.
+   */
+  public LongRange range(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return LongRange.between(bounds[2 * index], bounds[2 * index + 1]);
+  }
+
+  /**
+   * Returns an unmodifiable view of the intervals of this set, in ascending order.
+   */
+  public List<LongRange> ranges() {
+    return new AbstractList<>() {
+
+      @Override
+      public LongRange get(int index) {
+        return range(index);
+      }
+
+      @Override
+      public int size() {
+        return LongIntervalSet.this.size();
+      }
+
+    };
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return this == obj
+        || (obj instanceof LongIntervalSet other && Arrays.equals(bounds, other.bounds));
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(bounds);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < bounds.length; i += 2) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(bounds[i]).append("..").append(bounds[i + 1] - 1);
+    }
+    return builder.append(']').toString();
+  }
+
+  /**
+   * Sweeps the bounds of both sets in ascending order, tracking whether the sweep position is
+   * inside an interval of each set; {@code truthTable} has bit {@code 2 * inThis + inOther} set for
+   * each combination that is included in the result.
+   */
+  private LongIntervalSet combine(LongIntervalSet other, int truthTable) {
+    long[] a = bounds;
+    long[] b = other.bounds;
+    long[] result = new long[a.length + b.length];
+    int count = 0;
+    boolean inside = false;
+    for (int i = 0, j = 0; i < a.length || j < b.length; ) {
+      long position = (j == b.length || (i < a.length && a[i] < b[j])) ? a[i] : b[j];
+      if (i < a.length && a[i] == position) {
+        i++;
+      }
+      if (j < b.length && b[j] == position) {
+        j++;
+      }
+      boolean included = ((truthTable >> (((i & 1) << 1) | (j & 1))) & 1) != 0;
+      if (included != inside) {
+        result[count++] = position;
+        inside = included;
+      }
+    }
+    return (count == 0) ? EMPTY : new LongIntervalSet(Arrays.copyOf(result, count));
+  }
+
+}
@@ -15,5 +15,54 @@
  */
 package com.nickbenn.adventofcode.model;
 
+/**
+ * Half-open range of {@code long} values, specified by its first value and its length; the range
+ * includes the values {@code start..(start + length - 1)}.
+ */
 public record LongRange(long start, long length) {
+
+  /**
+   * Validates the length of the range.
+   *
+   * @throws IllegalArgumentException If {@code length} is negative.
+   */
+  public LongRange {
+    if (length < 0) {
+      throw new IllegalArgumentException();
+    }
+  }
+
+  /**
+   * Returns the range of values from {@code start} (inclusive) to {@code end} (exclusive).
+   *
+   * @throws IllegalArgumentException If {@code end < start}.
+   */
+  public static LongRange between(long start, long end) {
+    if (end < start) {
+      throw new IllegalArgumentException();
+    }
+    return new LongRange(start, end - start);
+  }
+
+  /**
+   * Returns the value following the last value in this range.
+   */
+  public long end() {
+    return start + length;
+  }
+
+  /**
+   * Returns a flag indicating whether this range contains no values.
+   */
+  public boolean isEmpty() {
+    return length == 0;
+  }
+
+  /**
+   * Returns a flag indicating whether {@code value} falls in this range.
+   */
+  public boolean contains(long value) {
+    return value >= start && value - start < length;
+  }
+
 }
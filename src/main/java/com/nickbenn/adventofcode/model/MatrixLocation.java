@@ -41,4 +41,22 @@ public record MatrixLocation(int row, int column) implements Comparable<MatrixLo
     return Math.abs(row - other.row) + Math.abs(column - other.column);
   }
 
+  /**
+   * Returns the representation of this location as a packed {@code long} value.
+   *
+   * @see PackedLocation
+   */
+  public long pack() {
+    return PackedLocation.pack(row, column);
+  }
+
+  /**
+   * Returns the location represented by the packed {@code long} value {@code location}.
+   *
+   * @see PackedLocation
+   */
+  public static MatrixLocation unpack(long location) {
+    return PackedLocation.unpack(location);
+  }
+
 }
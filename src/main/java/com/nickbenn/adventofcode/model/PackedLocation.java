@@ -0,0 +1,101 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+/**
+ * Static operations on matrix locations packed into {@code long} values, as an allocation-free
+ * alternative to {@link MatrixLocation}. The row index occupies the high 32 bits of a packed value,
+ * and the column index (with its sign bit inverted) the low 32 bits; as a result, comparing packed
+ * values with {@link Long#compare(long, long)} gives the same row-major ordering as
+ * {@link MatrixLocation#compareTo(MatrixLocation)}, and every pair of {@code int} values has a
+ * distinct packed representation.
+ */
+public final class PackedLocation {
+
+  private static final long LOW_MASK = 0xffffffffL;
+  private static final int COLUMN_BIAS = Integer.MIN_VALUE;
+
+  private PackedLocation() {
+  }
+
+  /**
+   * Returns the packed representation of the location at the specified row and column.
+   */
+  public static long pack(int row, int column) {
+    return ((long) row << Integer.SIZE) | ((column ^ COLUMN_BIAS) & LOW_MASK);
+  }
+
+  /**
+   * Returns the packed representation of {@code location}.
+   */
+  public static long pack(MatrixLocation location) {
+    return pack(location.row(), location.column());
+  }
+
+  /**
+   * Returns the row index of the packed location {@code location}.
+   */
+  public static int row(long location) {
+    return (int) (location >> Integer.SIZE);
+  }
+
+  /**
+   * Returns the column index of the packed location {@code location}.
+   */
+  public static int column(long location) {
+    return (int) location ^ COLUMN_BIAS;
+  }
+
+  /**
+   * Returns the {@link MatrixLocation} corresponding to the packed location {@code location}.
+   */
+  public static MatrixLocation unpack(long location) {
+    return new MatrixLocation(row(location), column(location));
+  }
+
+  /**
+   * Returns the packed location resulting from moving a single step from {@code location} in the
+   * specified direction.
+   */
+  public static long move(long location, Direction direction) {
+    return move(location, direction.rowOffset(), direction.columnOffset());
+  }
+
+  /**
+   * Returns the packed location resulting from moving from {@code location} by the specified
+   * offsets.
+   */
+  public static long move(long location, int rowOffset, int columnOffset) {
+    return pack(row(location) + rowOffset, column(location) + columnOffset);
+  }
+
+  /**
+   * Returns the Manhattan (taxicab) distance between packed locations {@code from} and
+   * {@code to}.
+   */
+  public static int manhattanDistance(long from, long to) {
+    return Math.abs(row(from) - row(to)) + Math.abs(column(from) - column(to));
+  }
+
+  /**
+   * Compares packed locations {@code a} and {@code b} in row-major order, consistent with
+   * {@link MatrixLocation#compareTo(MatrixLocation)}.
+   */
+  public static int compare(long a, long b) {
+    return Long.compare(a, b);
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Computes sums of distances over all unordered pairs of points, in {@code O(n log n)} time rather
+ * than by enumerating the {@code n(n - 1)/2} pairs. Since the Manhattan distance is the sum of the
+ * row and column distances, the row and column sums are computed independently: after sorting the
+ * coordinates, the value at (sorted) position {@code i} is at least as large as each of the
+ * {@code i} preceding values, so its contribution to the sum of absolute differences is
+ * {@code i * value} minus the sum of the preceding values, which is maintained as a running prefix
+ * sum.
+ */
+public final class PairwiseDistances {
+
+  private PairwiseDistances() {
+  }
+
+  /**
+   * Returns the sum of the Manhattan distances between all unordered pairs of {@code points}.
+   */
+  public static long sumManhattanDistances(Collection<MatrixLocation> points) {
+    int[] rows = new int[points.size()];
+    int[] columns = new int[points.size()];
+    int count = 0;
+    for (MatrixLocation point : points) {
+      rows[count] = point.row();
+      columns[count++] = point.column();
+    }
+    return sumAbsoluteDifferences(rows) + sumAbsoluteDifferences(columns);
+  }
+
+  /**
+   * Returns the sum of the Manhattan distances between all unordered pairs of the locations in
+   * {@code points}, each packed as by {@link PackedLocation#pack(int, int)}.
+   */
+  public static long sumManhattanDistances(long[] points) {
+    int[] rows = new int[points.length];
+    int[] columns = new int[points.length];
+    for (int i = 0; i < points.length; i++) {
+      rows[i] = PackedLocation.row(points[i]);
+      columns[i] = PackedLocation.column(points[i]);
+    }
+    return sumAbsoluteDifferences(rows) + sumAbsoluteDifferences(columns);
+  }
+
+  /**
+   * Returns the sum of {@code |a - b|} over all unordered pairs of elements {@code a, b} of
+   * {@code values}. The contents of {@code values} are not modified.
+   */
+  public static long sumAbsoluteDifferences(int[] values) {
+    int[] sorted = values.clone();
+    Arrays.sort(sorted);
+    long sum = 0;
+    long prefixSum = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      sum += (long) i * sorted[i] - prefixSum;
+      prefixSum += sorted[i];
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the sum of {@code |a - b|} over all unordered pairs of elements {@code a, b} of
+   * {@code values}. The contents of {@code values} are not modified.
+   *
+   * @throws ArithmeticException If the sum, or an intermediate value, overflows a {@code long}.
+   */
+  public static long sumAbsoluteDifferences(long[] values) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    long sum = 0;
+    long prefixSum = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      sum = Math.addExact(sum, Math.subtractExact(Math.multiplyExact(i, sorted[i]), prefixSum));
+      prefixSum = Math.addExact(prefixSum, sorted[i]);
+    }
+    return sum;
+  }
+
+}
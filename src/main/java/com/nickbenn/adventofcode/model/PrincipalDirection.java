@@ -34,6 +34,22 @@ public enum PrincipalDirection implements Direction {
   WEST(0, -1),
   NORTH_WEST(-1, -1);
 
+  private static final PrincipalDirection[] VALUES = values();
+  private static final PrincipalDirection[] OPPOSITES = new PrincipalDirection[VALUES.length];
+  private static final PrincipalDirection[] CLOCKWISE = new PrincipalDirection[VALUES.length];
+  private static final PrincipalDirection[] COUNTERCLOCKWISE =
+      new PrincipalDirection[VALUES.length];
+
+  static {
+    int length = VALUES.length;
+    for (PrincipalDirection direction : VALUES) {
+      int ordinal = direction.ordinal();
+      OPPOSITES[ordinal] = VALUES[(ordinal + length / 2) % length];
+      CLOCKWISE[ordinal] = VALUES[(ordinal + 1) % length];
+      COUNTERCLOCKWISE[ordinal] = VALUES[(ordinal - 1 + length) % length];
+    }
+  }
+
   private final int rowOffset;
   private final int columnOffset;
 
@@ -54,35 +70,38 @@ public enum PrincipalDirection implements Direction {
 
   @Override
   public PrincipalDirection opposite() {
-    PrincipalDirection[] values = values();
-    int length = values.length;
-    return values[(ordinal() + length / 2) % length];
+    return OPPOSITES[ordinal()];
   }
 
   @Override
   public Direction nextClockwise() {
-    PrincipalDirection[] values = values();
-    return values[(ordinal() + 1) % values.length];
+    return CLOCKWISE[ordinal()];
   }
 
   @Override
   public Direction nextCounterClockwise() {
-    PrincipalDirection[] values = values();
-    return values[(ordinal() - 1 + values.length) % values.length];
+    return COUNTERCLOCKWISE[ordinal()];
   }
 
   public static PrincipalDirection choose(RandomGenerator rng, Predicate<PrincipalDirection> filter) {
-    PrincipalDirection[] values = values();
-    return values[rng.nextInt(values.length)];
+    return VALUES[rng.nextInt(VALUES.length)];
   }
 
   public static Stream<Direction> stream() {
-    return Stream.of(values());
+    return Stream.of(VALUES);
+  }
+
+  /**
+   * Returns the direction with the specified ordinal value, without the copying performed by
+   * {@link #values()}.
+   */
+  public static PrincipalDirection fromOrdinal(int ordinal) {
+    return VALUES[ordinal];
   }
 
   public static Stream<Direction> randomStream(Random rng) {
     List<Direction> shuffled = new ArrayList<>();
-    Collections.addAll(shuffled, values());
+    Collections.addAll(shuffled, VALUES);
     Collections.shuffle(shuffled, rng);
     return shuffled.stream();
   }
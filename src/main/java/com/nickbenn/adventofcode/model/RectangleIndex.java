@@ -0,0 +1,177 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Spatial index of values keyed by {@link IntRectangle} bounds, supporting queries for the entries
+ * whose bounds intersect a query rectangle. The plane is divided into square buckets of a fixed
+ * size; each entry is recorded in every bucket its bounds overlap, and the buckets themselves are
+ * held in a {@link LocationMap}, so that only occupied buckets consume memory.
+ * <p>A query visits only the buckets overlapped by the query rectangle. An entry overlapping
+ * several of those buckets is reported only from the bucket containing the top-left cell of its
+ * intersection with the query rectangle, so no set of already-reported entries is needed; when
+ * entries and queries are small relative to the bucket size, the cost of a query is proportional
+ * to the number of entries reported.</p>
+ *
+ * @param <V> Type of value associated with each rectangle.
+ */
+public final class RectangleIndex<V> {
+
+  private static final int DEFAULT_BUCKET_SIZE = 16;
+  private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+  private final int bucketSize;
+  private final LocationMap<Bucket> buckets = new LocationMap<>();
+  private final List<IntRectangle> bounds = new ArrayList<>();
+  private final List<V> values = new ArrayList<>();
+
+  /**
+   * Initializes this instance with the default bucket size.
+   */
+  public RectangleIndex() {
+    this(DEFAULT_BUCKET_SIZE);
+  }
+
+  /**
+   * Initializes this instance with the specified bucket size. For best performance, this should be
+   * comparable to (or somewhat larger than) the typical dimensions of the indexed rectangles and
+   * query rectangles.
+   *
+   * @param bucketSize Height and width of each bucket.
+   * @throws IllegalArgumentException If {@code bucketSize} is not positive.
+   */
+  public RectangleIndex(int bucketSize) {
+    if (bucketSize <= 0) {
+      throw new IllegalArgumentException();
+    }
+    this.bucketSize = bucketSize;
+  }
+
+  /**
+   * Adds an entry with the specified bounds and value. Empty rectangles are accepted, but never
+   * intersect any query rectangle.
+   */
+  public void add(IntRectangle rectangle, V value) {
+    int id = bounds.size();
+    bounds.add(rectangle);
+    values.add(value);
+    if (!rectangle.isEmpty()) {
+      int lastBucketRow = bucket(rectangle.endRow() - 1);
+      int lastBucketColumn = bucket(rectangle.endColumn() - 1);
+      for (int row = bucket(rectangle.topRow()); row <= lastBucketRow; row++) {
+        for (int column = bucket(rectangle.leftColumn()); column <= lastBucketColumn; column++) {
+          buckets
+              .computeIfAbsent(PackedLocation.pack(row, column), (key) -> new Bucket())
+              .add(id);
+        }
+      }
+    }
+  }
+
+  /**
+   * Passes the bounds and value of each entry whose bounds intersect {@code area} to
+   * {@code consumer}. Each such entry is passed exactly once, in no particular order.
+   */
+  public void forEachIntersecting(IntRectangle area, BiConsumer<IntRectangle, ? super V> consumer) {
+    if (area.isEmpty()) {
+      return;
+    }
+    int firstBucketRow = bucket(area.topRow());
+    int firstBucketColumn = bucket(area.leftColumn());
+    int lastBucketRow = bucket(area.endRow() - 1);
+    int lastBucketColumn = bucket(area.endColumn() - 1);
+    for (int row = firstBucketRow; row <= lastBucketRow; row++) {
+      for (int column = firstBucketColumn; column <= lastBucketColumn; column++) {
+        Bucket bucket = buckets.get(PackedLocation.pack(row, column));
+        if (bucket != null) {
+          for (int i = 0; i < bucket.size; i++) {
+            int id = bucket.ids[i];
+            IntRectangle rectangle = bounds.get(id);
+            if (rectangle.intersects(area)
+                && bucket(Math.max(rectangle.topRow(), area.topRow())) == row
+                && bucket(Math.max(rectangle.leftColumn(), area.leftColumn())) == column) {
+              consumer.accept(rectangle, values.get(id));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the values of the entries whose bounds intersect {@code area}, in no particular order.
+   */
+  public List<V> intersecting(IntRectangle area) {
+    List<V> result = new ArrayList<>();
+    forEachIntersecting(area, (rectangle, value) -> result.add(value));
+    return result;
+  }
+
+  /**
+   * Returns a flag indicating whether the bounds of any entry intersect {@code area}.
+   */
+  public boolean anyIntersecting(IntRectangle area) {
+    if (area.isEmpty()) {
+      return false;
+    }
+    int lastBucketRow = bucket(area.endRow() - 1);
+    int lastBucketColumn = bucket(area.endColumn() - 1);
+    for (int row = bucket(area.topRow()); row <= lastBucketRow; row++) {
+      for (int column = bucket(area.leftColumn()); column <= lastBucketColumn; column++) {
+        Bucket bucket = buckets.get(PackedLocation.pack(row, column));
+        if (bucket != null) {
+          for (int i = 0; i < bucket.size; i++) {
+            if (bounds.get(bucket.ids[i]).intersects(area)) {
+              return true;
+            }
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the number of entries in this index.
+   */
+  public int size() {
+    return bounds.size();
+  }
+
+  private int bucket(int coordinate) {
+    return Math.floorDiv(coordinate, bucketSize);
+  }
+
+  private static class Bucket {
+
+    private int[] ids = new int[INITIAL_BUCKET_CAPACITY];
+    private int size;
+
+    private void add(int id) {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, 2 * size);
+      }
+      ids[size++] = id;
+    }
+
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} over ordered, array-backed chunks of the elements of an underlying
+ * {@link Spliterator Spliterator&lt;E&gt;}. Unlike {@link StreamChunker} (which must be wrapped in
+ * a sequential spliterator of unknown size), this class supports splitting, always on chunk
+ * boundaries, so that a stream of chunks can be processed in parallel without changing the
+ * composition of any chunk.
+ * <p>Splitting follows the manner of {@link Spliterators.AbstractSpliterator}: each split removes a
+ * batch of whole chunks (of arithmetically increasing size) from the front of the source, and
+ * returns a sized spliterator over that batch.</p>
+ *
+ * @param <E> Element type.
+ */
+public class ChunkSpliterator<E> implements Spliterator<List<E>> {
+
+  private static final int BATCH_UNIT = 1 << 6;
+  private static final int MAX_BATCH = 1 << 14;
+  private static final int MAX_INITIAL_CAPACITY = 1 << 10;
+
+  private final Spliterator<E> source;
+  private final int chunkSize;
+  private final int characteristics;
+
+  private int batch;
+
+  /**
+   * Initializes this instance to chunk the elements of {@code source}.
+   *
+   * @param source    Underlying {@link Spliterator Spliterator&lt;E&gt;} over individual elements.
+   * @param chunkSize Maximum number of elements in each chunk; all chunks except the last contain
+   *                  exactly this many elements.
+   * @throws IllegalArgumentException If {@code chunkSize} is not positive.
+   */
+  public ChunkSpliterator(Spliterator<E> source, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException();
+    }
+    this.source = source;
+    this.chunkSize = chunkSize;
+    characteristics = (source.characteristics() & (ORDERED | SIZED)) | NONNULL;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super List<E>> action) {
+    List<E> chunk = nextChunk();
+    if (chunk != null) {
+      action.accept(chunk);
+    }
+    return chunk != null;
+  }
+
+  @Override
+  public Spliterator<List<E>> trySplit() {
+    Spliterator<List<E>> prefix = null;
+    long remaining = estimateSize();
+    if (remaining > 1) {
+      int size = (int) Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining);
+      Object[] chunks = new Object[size];
+      int count = 0;
+      for (List<E> chunk; count < size && (chunk = nextChunk()) != null; ) {
+        chunks[count++] = chunk;
+      }
+      if (count > 0) {
+        batch = count;
+        prefix = Spliterators.spliterator(chunks, 0, count, (characteristics & ORDERED) | NONNULL);
+      }
+    }
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    long size = source.estimateSize();
+    return (size == Long.MAX_VALUE) ? size : (size + chunkSize - 1) / chunkSize;
+  }
+
+  @Override
+  public int characteristics() {
+    return characteristics;
+  }
+
+  private List<E> nextChunk() {
+    List<E> chunk = new ArrayList<>(Math.min(chunkSize, MAX_INITIAL_CAPACITY));
+    //noinspection StatementWithEmptyBody
+    while (chunk.size() < chunkSize && source.tryAdvance(chunk::add)) {
+      // Do nothing; element already added.
+    }
+    return chunk.isEmpty() ? null : chunk;
+  }
+
+}
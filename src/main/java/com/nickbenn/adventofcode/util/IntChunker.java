@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Chunks ordered sequences of {@code int} values from an underlying
+ * {@link PrimitiveIterator.OfInt} (or {@code int[]}) into {@code int[]} windows, without boxing.
+ * Two kinds of chunking are supported:
+ * <ul>
+ *   <li>Fixed chunking (created with a constructor), in which consecutive chunks don't overlap, and
+ *   every chunk except the last contains exactly {@code chunkSize} values. This is the primitive
+ *   counterpart of {@link ListChunker}.</li>
+ *   <li>Sliding windows (created with {@link #sliding(PrimitiveIterator.OfInt, int, int)}), in
+ *   which each window contains exactly {@code windowSize} values, and starts {@code step} values
+ *   after the start of the previous window. Trailing values that don't fill a complete window are
+ *   not returned.</li>
+ * </ul>
+ * <p>Each invocation of {@link #next()} returns a newly allocated array, which the caller may
+ * retain or modify.</p>
+ *
+ * @see LongChunker
+ */
+public final class IntChunker implements Iterator<int[]> {
+
+  private static final int[] END = new int[0];
+
+  private final PrimitiveIterator.OfInt source;
+  private final int size;
+  private final int step;
+  private final boolean partial;
+
+  private int[] overlap;
+  private int[] pending;
+
+  /**
+   * Initializes this instance to return non-overlapping chunks of the values returned by
+   * {@code source}.
+   *
+   * @param source    Iterator over individual values.
+   * @param chunkSize Maximum number of values in each chunk.
+   * @throws IllegalArgumentException If {@code chunkSize} is not positive.
+   */
+  public IntChunker(PrimitiveIterator.OfInt source, int chunkSize) {
+    this(source, chunkSize, chunkSize, true);
+  }
+
+  /**
+   * Initializes this instance to return non-overlapping chunks of the values in {@code source}.
+   *
+   * @param source    Individual values.
+   * @param chunkSize Maximum number of values in each chunk.
+   * @throws IllegalArgumentException If {@code chunkSize} is not positive.
+   */
+  public IntChunker(int[] source, int chunkSize) {
+    this(Arrays.stream(source).iterator(), chunkSize);
+  }
+
+  private IntChunker(PrimitiveIterator.OfInt source, int size, int step, boolean partial) {
+    if (size <= 0 || step <= 0 || step > size) {
+      throw new IllegalArgumentException();
+    }
+    this.source = source;
+    this.size = size;
+    this.step = step;
+    this.partial = partial;
+  }
+
+  /**
+   * Returns an instance returning sliding windows over the values returned by {@code source}.
+   *
+   * @param source     Iterator over individual values.
+   * @param windowSize Number of values in each window.
+   * @param step       Offset between the start of each window and the start of the next.
+   * @throws IllegalArgumentException If {@code windowSize} is not positive, or {@code step} is not
+   *                                  in the range {@code 1..windowSize}.
+   */
+  public static IntChunker sliding(PrimitiveIterator.OfInt source, int windowSize, int step) {
+    return new IntChunker(source, windowSize, step, false);
+  }
+
+  /**
+   * Returns an instance returning sliding windows over the values in {@code source}.
+   *
+   * @param source     Individual values.
+   * @param windowSize Number of values in each window.
+   * @param step       Offset between the start of each window and the start of the next.
+   * @throws IllegalArgumentException If {@code windowSize} is not positive, or {@code step} is not
+   *                                  in the range {@code 1..windowSize}.
+   */
+  public static IntChunker sliding(int[] source, int windowSize, int step) {
+    return sliding(Arrays.stream(source).iterator(), windowSize, step);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (pending == null) {
+      pending = fill();
+    }
+    return pending != END;
+  }
+
+  @Override
+  public int[] next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    int[] chunk = pending;
+    pending = null;
+    return chunk;
+  }
+
+  /**
+   * Returns a sequential {@link Stream} over the remaining chunks of this instance.
+   */
+  public Stream<int[]> stream() {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+        this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  private int[] fill() {
+    int[] chunk = new int[size];
+    int count = 0;
+    if (overlap != null) {
+      count = overlap.length;
+      System.arraycopy(overlap, 0, chunk, 0, count);
+    }
+    while (count < size && source.hasNext()) {
+      chunk[count++] = source.nextInt();
+    }
+    if (count < size) {
+      chunk = (partial && count > 0) ? Arrays.copyOf(chunk, count) : END;
+    } else if (step < size) {
+      // Retained separately from the returned window, which the caller may modify.
+      overlap = Arrays.copyOfRange(chunk, step, size);
+    }
+    return chunk;
+  }
+
+}
@@ -15,14 +15,17 @@
  */
 package com.nickbenn.adventofcode.util;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
  * Chunks ordered sequences of elements from an underlying {@link Iterator Iterator&lt;E&gt;} into
- * lists, implementing an {@code Iterator<List<E>>} over the chunked lists.
+ * lists, implementing an {@code Iterator<List<E>>} over the chunked lists. Each chunk is returned
+ * as an array-backed {@link ArrayList}.
+ * <p>Chunks are produced strictly sequentially; for a chunked stream that can be split for
+ * parallel processing, use {@link ChunkSpliterator}.</p>
  *
  * @param source    {@link Iterator Iterator&lt;E&gt;} over individual elements.
  * @param chunkSize Number of elements to include in the {@link List List&lt;E&gt;} returned from
@@ -33,6 +36,8 @@ import java.util.NoSuchElementException;
 public record ListChunker<E>(Iterator<E> source, int chunkSize)
     implements Iterator<List<E>> {
 
+  private static final int MAX_INITIAL_CAPACITY = 1 << 10;
+
   @Override
   public boolean hasNext() {
     return source.hasNext();
@@ -43,7 +48,7 @@ public record ListChunker<E>(Iterator<E> source, int chunkSize)
     if (!hasNext()) {
       throw new NoSuchElementException();
     }
-    List<E> pending = new LinkedList<>();
+    List<E> pending = new ArrayList<>(Math.min(chunkSize, MAX_INITIAL_CAPACITY));
     for (int i = 0; i < chunkSize && source.hasNext(); i++) {
       pending.add(source.next());
     }
@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Chunks ordered sequences of {@code long} values from an underlying
+ * {@link PrimitiveIterator.OfLong} (or {@code long[]}) into {@code long[]} windows, without boxing.
+ * Two kinds of chunking are supported:
+ * <ul>
+ *   <li>Fixed chunking (created with a constructor), in which consecutive chunks don't overlap, and
+ *   every chunk except the last contains exactly {@code chunkSize} values. This is the primitive
+ *   counterpart of {@link ListChunker}.</li>
+ *   <li>Sliding windows (created with {@link #sliding(PrimitiveIterator.OfLong, int, int)}), in
+ *   which each window contains exactly {@code windowSize} values, and starts {@code step} values
+ *   after the start of the previous window. Trailing values that don't fill a complete window are
+ *   not returned.</li>
+ * </ul>
+ * <p>Each invocation of {@link #next()} returns a newly allocated array, which the caller may
+ * retain or modify.</p>
+ *
+ * @see IntChunker
+ */
+public final class LongChunker implements Iterator<long[]> {
+
+  private static final long[] END = new long[0];
+
+  private final PrimitiveIterator.OfLong source;
+  private final int size;
+  private final int step;
+  private final boolean partial;
+
+  private long[] overlap;
+  private long[] pending;
+
+  /**
+   * Initializes this instance to return non-overlapping chunks of the values returned by
+   * {@code source}.
+   *
+   * @param source    Iterator over individual values.
+   * @param chunkSize Maximum number of values in each chunk.
+   * @throws IllegalArgumentException If {@code chunkSize} is not positive.
+   */
+  public LongChunker(PrimitiveIterator.OfLong source, int chunkSize) {
+    this(source, chunkSize, chunkSize, true);
+  }
+
+  /**
+   * Initializes this instance to return non-overlapping chunks of the values in {@code source}.
+   *
+   * @param source    Individual values.
+   * @param chunkSize Maximum number of values in each chunk.
+   * @throws IllegalArgumentException If {@code chunkSize} is not positive.
+   */
+  public LongChunker(long[] source, int chunkSize) {
+    this(Arrays.stream(source).iterator(), chunkSize);
+  }
+
+  private LongChunker(PrimitiveIterator.OfLong source, int size, int step, boolean partial) {
+    if (size <= 0 || step <= 0 || step > size) {
+      throw new IllegalArgumentException();
+    }
+    this.source = source;
+    this.size = size;
+    this.step = step;
+    this.partial = partial;
+  }
+
+  /**
+   * Returns an instance returning sliding windows over the values returned by {@code source}.
+   *
+   * @param source     Iterator over individual values.
+   * @param windowSize Number of values in each window.
+   * @param step       Offset between the start of each window and the start of the next.
+   * @throws IllegalArgumentException If {@code windowSize} is not positive, or {@code step} is not
+   *                                  in the range {@code 1..windowSize}.
+   */
+  public static LongChunker sliding(PrimitiveIterator.OfLong source, int windowSize, int step) {
+    return new LongChunker(source, windowSize, step, false);
+  }
+
+  /**
+   * Returns an instance returning sliding windows over the values in {@code source}.
+   *
+   * @param source     Individual values.
+   * @param windowSize Number of values in each window.
+   * @param step       Offset between the start of each window and the start of the next.
+   * @throws IllegalArgumentException If {@code windowSize} is not positive, or {@code step} is not
+   *                                  in the range {@code 1..windowSize}.
+   */
+  public static LongChunker sliding(long[] source, int windowSize, int step) {
+    return sliding(Arrays.stream(source).iterator(), windowSize, step);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (pending == null) {
+      pending = fill();
+    }
+    return pending != END;
+  }
+
+  @Override
+  public long[] next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    long[] chunk = pending;
+    pending = null;
+    return chunk;
+  }
+
+  /**
+   * Returns a sequential {@link Stream} over the remaining chunks of this instance.
+   */
+  public Stream<long[]> stream() {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+        this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  private long[] fill() {
+    long[] chunk = new long[size];
+    int count = 0;
+    if (overlap != null) {
+      count = overlap.length;
+      System.arraycopy(overlap, 0, chunk, 0, count);
+    }
+    while (count < size && source.hasNext()) {
+      chunk[count++] = source.nextLong();
+    }
+    if (count < size) {
+      chunk = (partial && count > 0) ? Arrays.copyOf(chunk, count) : END;
+    } else if (step < size) {
+      // Retained separately from the returned window, which the caller may modify.
+      overlap = Arrays.copyOfRange(chunk, step, size);
+    }
+    return chunk;
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Flyweight {@link CharSequence} view of a range of bytes in a {@link ByteBuffer}, with each byte
+ * interpreted as a single character (i.e. ASCII, or more precisely ISO-8859-1). No bytes are copied
+ * on creation of an instance, or by {@link #subSequence(int, int)}; only {@link #toString()}
+ * produces a copy.
+ * <p>As with {@link java.nio.CharBuffer} (and unlike {@link String}), instances of this class do
+ * not override {@link Object#equals(Object)} or {@link Object#hashCode()}; use
+ * {@link CharSequence#compare(CharSequence, CharSequence)} or {@link #toString()} to compare
+ * contents.</p>
+ */
+final class AsciiSequence implements CharSequence {
+
+  private final ByteBuffer buffer;
+  private final int offset;
+  private final int length;
+
+  /**
+   * Initializes this instance as a view of {@code length} bytes of {@code buffer}, starting at
+   * {@code offset}. The contents of {@code buffer} are only read using absolute positions.
+   */
+  AsciiSequence(ByteBuffer buffer, int offset, int length) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return (char) (buffer.get(offset + index) & 0xff);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException(
+          String.format("start %d, end %d, length %d", start, end, length));
+    }
+    return (start == 0 && end == length)
+        ? this
+        : new AsciiSequence(buffer, offset + start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    byte[] bytes = new byte[length];
+    buffer.get(offset, bytes);
+    return new String(bytes, StandardCharsets.ISO_8859_1);
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression formats recognized by {@link DataSource}. Decompression is performed as the input is
+ * read, without first writing the decompressed content to disk or holding it fully in memory
+ * (except where a method of {@link DataSource} requires the full content in any event).
+ */
+public enum Compression {
+
+  /**
+   * Input is read as-is.
+   */
+  NONE,
+
+  /**
+   * Input is in gzip format (as produced by the {@code gzip} utility).
+   */
+  GZIP,
+
+  /**
+   * Input is a raw DEFLATE stream, with no zlib or gzip header or trailer.
+   */
+  DEFLATE,
+
+  /**
+   * Input is decompressed as gzip if it starts with the gzip magic number; otherwise, it is read
+   * as-is. Raw DEFLATE streams have no signature, and are thus never detected automatically.
+   */
+  AUTO;
+
+  private static final int GZIP_MAGIC_LOW = 0x1f;
+  private static final int GZIP_MAGIC_HIGH = 0x8b;
+  private static final int MAGIC_LENGTH = 2;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Returns a flag indicating whether content starting with the contents of {@code buffer} must
+   * be decompressed to be read. The buffer is only read using absolute positions.
+   */
+  boolean isCompressed(ByteBuffer buffer) {
+    return switch (this) {
+      case NONE -> false;
+      case GZIP, DEFLATE -> true;
+      case AUTO -> buffer.limit() >= MAGIC_LENGTH
+          && isGzipMagic(buffer.get(0) & 0xff, buffer.get(1) & 0xff);
+    };
+  }
+
+  /**
+   * Returns an {@link InputStream} reading the decompressed content of {@code input}. If no
+   * decompression is required, {@code input} itself (or a buffered wrapper around it) may be
+   * returned.
+   *
+   * @throws IOException If the header of compressed content cannot be read, or is invalid.
+   */
+  InputStream decompress(InputStream input) throws IOException {
+    return switch (this) {
+      case NONE -> input;
+      case GZIP -> new GZIPInputStream(input, BUFFER_SIZE);
+      case DEFLATE -> new RawInflaterInputStream(input);
+      case AUTO -> detect(input);
+    };
+  }
+
+  private static InputStream detect(InputStream input) throws IOException {
+    InputStream buffered = new BufferedInputStream(input, BUFFER_SIZE);
+    buffered.mark(MAGIC_LENGTH);
+    int low = buffered.read();
+    int high = buffered.read();
+    buffered.reset();
+    return isGzipMagic(low, high) ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+  }
+
+  private static boolean isGzipMagic(int low, int high) {
+    return low == GZIP_MAGIC_LOW && high == GZIP_MAGIC_HIGH;
+  }
+
+  private static class RawInflaterInputStream extends InflaterInputStream {
+
+    RawInflaterInputStream(InputStream input) {
+      super(input, new Inflater(true), BUFFER_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        inf.end();
+      }
+    }
+
+  }
+
+}
@@ -15,20 +15,32 @@
  */
 package com.nickbenn.adventofcode.view;
 
-import com.nickbenn.adventofcode.util.StreamChunker;
+import com.nickbenn.adventofcode.model.ByteGrid;
+import com.nickbenn.adventofcode.util.ChunkSpliterator;
 import java.io.BufferedReader;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.Iterator;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import java.util.zip.InflaterInputStream;
 
 @SuppressWarnings("unused")
 public class DataSource {
@@ -36,25 +48,58 @@ public class DataSource {
   public static final String DEFAULT_INPUT_FILE = "input.txt";
   public static final boolean DEFAULT_TRIMMED = true;
   public static final boolean DEFAULT_STRIPPED = true;
-  private static final Pattern PARAGRAPH_SPLITTER = Pattern.compile("\\r?\\n\\s*?\\r?\\n");
+  public static final Compression DEFAULT_COMPRESSION = Compression.AUTO;
+  public static final boolean DEFAULT_READ_AHEAD = true;
+  public static final boolean DEFAULT_PIPELINED = false;
   private static final String CANT_READ_FILE_FORMAT =
       "Unable to find file \"%1$s\" (relative to %2$s), or file cannot be opened for reading";
+  private static final String CANT_READ_PATH_FORMAT =
+      "Unable to find file \"%1$s\", or file cannot be opened for reading";
+  private static final String ALREADY_CONSUMED_MESSAGE =
+      "Streaming input can only be read once";
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final int DIGEST_BUFFER_SIZE = 1 << 13;
 
   private final String inputFile;
+  private final Path inputPath;
+  private final InputStream inputStream;
+  private final boolean streaming;
   private final boolean trimmed;
   private final boolean stripped;
+  private final Compression compression;
+  private final boolean readAhead;
+  private final boolean pipelined;
   private final Class<?> context;
 
+  private MappedInput mappedInput;
+  private boolean consumed;
+
   private DataSource(Builder builder) throws IOException {
     inputFile = builder.inputFile;
+    inputPath = builder.inputPath;
+    inputStream = builder.inputStream;
     trimmed = builder.trimmed;
     stripped = builder.stripped;
+    compression = builder.compression;
+    readAhead = builder.readAhead;
+    pipelined = builder.pipelined;
     context = builder.context;
-    //noinspection EmptyTryBlock
-    try (InputStream input = getInputStream()) {
-      // Do nothing.
-    } catch (NullPointerException e) {
-      throw new IOException(e);
+    if (inputStream != null) {
+      streaming = true;
+    } else if (inputPath != null) {
+      if (!Files.exists(inputPath) || Files.isDirectory(inputPath)
+          || !Files.isReadable(inputPath)) {
+        throw new IOException(String.format(CANT_READ_PATH_FORMAT, inputPath));
+      }
+      streaming = !Files.isRegularFile(inputPath);
+    } else {
+      streaming = false;
+      //noinspection EmptyTryBlock
+      try (InputStream input = getResourceStream()) {
+        // Do nothing.
+      } catch (NullPointerException e) {
+        throw new IOException(e);
+      }
     }
   }
 
@@ -89,15 +134,85 @@ public class DataSource {
     return simpleLines(null, (Class<?>) null);
   }
 
+  /**
+   * Returns a stream of the lines of input, decoded as UTF-8 (in path mode as well as when reading
+   * from a stream), and trimmed and stripped as configured. Unlike {@link #lineViews()} and
+   * {@link #lineBuffers()}, which treat each byte as an ISO-8859-1 character, this method decodes
+   * multi-byte characters correctly.
+   * <p>In path mode (with uncompressed input), lines are read from the mapped file; with a
+   * classpath resource, the (decompressed) resource is read fully into memory once, and lines are
+   * read from that copy. In both cases, the returned stream splits efficiently at line boundaries
+   * when made parallel. Otherwise (i.e. with compressed input in path mode, or when reading from a
+   * stream, pipe, or other non-regular file), lines are read sequentially, and a parallel stream
+   * gains little from splitting.</p>
+   */
   public Stream<String> lines() throws IOException {
-    Stream<String> lines = new BufferedReader(new InputStreamReader(getInputStream())).lines();
+    Stream<String> lines = rawLines();
     if (trimmed) {
       lines = lines.map(String::trim);
     }
     if (stripped) {
       lines = lines.filter(Predicate.not(String::isEmpty));
     }
-    return lines;
+    return pipelined ? pipeline(lines) : lines;
+  }
+
+  /**
+   * Returns a stream of {@link CharSequence} views of the lines of input, without copying or
+   * decoding line content. Each byte of input is treated as a single ISO-8859-1 character, so for
+   * input that is not pure ASCII, the views differ from the UTF-8 lines returned by
+   * {@link #lines()}. Trimming (if enabled) is performed by adjusting the bounds of each view,
+   * rather than by copying.
+   * <p>In path mode (with uncompressed input), the views read directly from the mapped file;
+   * otherwise, the (decompressed) input is read fully into memory once, and the views read from
+   * that copy. The returned views remain valid after the stream is closed, and may be passed
+   * directly to {@link Pattern#matcher} and other methods accepting a {@link CharSequence}. They
+   * do not implement value equality; use {@link Object#toString()} where a {@link String} is
+   * required.</p>
+   */
+  public Stream<CharSequence> lineViews() throws IOException {
+    Stream<CharSequence> views = bufferLines(this::view);
+    if (stripped) {
+      views = views.filter((view) -> view.length() > 0);
+    }
+    return views;
+  }
+
+  /**
+   * Returns a stream of read-only {@link ByteBuffer} slices, one per line of input, each with
+   * position 0 and limit equal to the length of the line (after trimming, if enabled). As with
+   * {@link #lineViews()}, no line content is copied; in path mode, the slices read directly from
+   * the mapped file. This is intended for code that processes line bytes in bulk (e.g. with vector
+   * operations), rather than one {@code char} at a time.
+   */
+  public Stream<ByteBuffer> lineBuffers() throws IOException {
+    Stream<ByteBuffer> slices = bufferLines(this::slice);
+    if (stripped) {
+      slices = slices.filter(ByteBuffer::hasRemaining);
+    }
+    return slices;
+  }
+
+  /**
+   * Returns a stream with one {@code int[]} per line of input, containing the integers found in
+   * that line (as described in {@link NumberScanner}). Digits are parsed directly from the input
+   * bytes, without creating any intermediate {@link String} instances.
+   *
+   * @throws ArithmeticException If any integer is outside the range of {@code int}.
+   */
+  public Stream<int[]> intRows() throws IOException {
+    return lineViews().map(NumberScanner::ints);
+  }
+
+  /**
+   * Returns a stream with one {@code long[]} per line of input, containing the integers found in
+   * that line (as described in {@link NumberScanner}). Digits are parsed directly from the input
+   * bytes, without creating any intermediate {@link String} instances.
+   *
+   * @throws ArithmeticException If any integer is outside the range of {@code long}.
+   */
+  public Stream<long[]> longRows() throws IOException {
+    return lineViews().map(NumberScanner::longs);
   }
 
   public Stream<String> blocks(Pattern splitter) throws IOException {
@@ -110,33 +225,106 @@ public class DataSource {
     if (stripped) {
       blocks = blocks.filter(Predicate.not(String::isEmpty));
     }
-    return blocks;
+    return pipelined ? pipeline(blocks) : blocks;
   }
 
   public Stream<Stream<String>> blockLines(Pattern splitter) throws IOException {
     return expand(blocks(splitter));
   }
 
+  /**
+   * Returns a stream of paragraphs&mdash;that is, blocks of lines separated by one or more blank
+   * lines. Each paragraph is returned as a single {@link String}, with the lines joined by
+   * {@code '\n'}. Input is read in a single pass, grouping lines by testing each for blankness;
+   * unlike {@link #blocks(Pattern)}, no regular expression is evaluated.
+   */
   public Stream<String> paragraphs() throws IOException {
-    return blocks(PARAGRAPH_SPLITTER);
+    Stream<String> paragraphs = paragraphStream(rawLines())
+        .map((paragraph) -> paragraph.collect(Collectors.joining("\n")));
+    if (trimmed) {
+      paragraphs = paragraphs.map(String::trim);
+    }
+    return pipelined ? pipeline(paragraphs) : paragraphs;
   }
 
+  /**
+   * Returns a stream of paragraphs (as described in {@link #paragraphs()}), each of which is
+   * returned as a lazy stream of lines, read directly from the underlying input as it is consumed;
+   * no paragraph is buffered. Trimming and stripping are applied to the lines within each
+   * paragraph.
+   * <p>Since all of the paragraph streams read from the same underlying input, each is only valid
+   * until the returned stream advances to the next paragraph; any lines not consumed by then are
+   * skipped. Thus, each paragraph stream should be consumed fully (sequentially, on the thread
+   * consuming the returned stream) before the next is requested&mdash;as is the case, for example,
+   * when each paragraph is collected in a {@link Stream#map(Function)} stage. In pipelined mode
+   * (see {@link Builder#setPipelined(boolean)}), the input lines are read and decoded on the
+   * producer thread, and grouped into paragraphs on the consumer thread.</p>
+   */
   public Stream<Stream<String>> paragraphLines() throws IOException {
-    return expand(paragraphs());
+    Stream<String> lines = rawLines();
+    return paragraphStream(pipelined ? pipeline(lines) : lines)
+        .map((paragraph) -> {
+          if (trimmed) {
+            paragraph = paragraph.map(String::trim);
+          }
+          if (stripped) {
+            paragraph = paragraph.filter(Predicate.not(String::isEmpty));
+          }
+          return paragraph;
+        });
   }
 
+  /**
+   * Returns a stream of chunks of lines, each of which (except possibly the last) contains
+   * {@code chunkSize} lines. The returned stream is sequential, but it splits on chunk boundaries
+   * (see {@link ChunkSpliterator}), and may thus be processed in parallel.
+   */
   public Stream<Stream<String>> chunkedLines(int chunkSize) throws IOException {
-    Iterator<String> iterator = lines().iterator();
-    return StreamSupport.stream(
-        Spliterators.spliteratorUnknownSize(
-            new StreamChunker<>(iterator, chunkSize),
-            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE
-        ),
-        false
-    );
+    Stream<String> lines = lines();
+    return StreamSupport.stream(new ChunkSpliterator<>(lines.spliterator(), chunkSize), false)
+        .map(List::stream)
+        .onClose(lines::close);
+  }
+
+  /**
+   * Returns a flag indicating whether this instance reads from a single-pass streaming source
+   * (standard input, another {@link InputStream}, or a named pipe), rather than from a file or
+   * classpath resource.
+   */
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  /**
+   * Computes and returns a SHA-256 digest of the (decompressed) input content. In path mode, the
+   * digest is computed directly over the mapped file. For a streaming source, this consumes the
+   * input, so that it can't be read again.
+   */
+  public byte[] contentDigest() throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    if (isMapped()) {
+      digest.update(getMappedInput().buffer().duplicate());
+    } else {
+      try (InputStream input = getInputStream()) {
+        byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+        for (int count; (count = input.read(buffer)) >= 0; ) {
+          digest.update(buffer, 0, count);
+        }
+      }
+    }
+    return digest.digest();
   }
 
   public Stream<int[]> digits() throws IOException {
+    if (isMapped()) {
+      Stream<int[]> digits = mappedLines(this::decodeDigits);
+      return stripped ? digits.filter((values) -> values.length > 0) : digits;
+    }
     return lines()
         .map((line) -> line
             .chars()
@@ -145,6 +333,79 @@ public class DataSource {
         );
   }
 
+  /**
+   * Reads the lines of input into a {@link ByteGrid}, with one row per line, and one column per
+   * byte. The width of the grid is the length of the longest line; shorter lines are padded on the
+   * right with zeros. The grid has no border.
+   */
+  public ByteGrid grid() throws IOException {
+    return loadGrid(0, (byte) 0, false);
+  }
+
+  /**
+   * Reads the lines of input into a {@link ByteGrid}, as for {@link #grid()}, but with a border
+   * one cell wide. All border cells (and padding cells for lines shorter than the longest) are set
+   * to {@code sentinel}.
+   */
+  public ByteGrid grid(byte sentinel) throws IOException {
+    return loadGrid(1, sentinel, false);
+  }
+
+  /**
+   * Reads the lines of input into a {@link ByteGrid}, as for {@link #grid()}, but with the
+   * numeric value of each digit character (i.e. {@code c - '0'}), rather than the character
+   * itself, stored in each cell.
+   */
+  public ByteGrid digitGrid() throws IOException {
+    return loadGrid(0, (byte) 0, true);
+  }
+
+  /**
+   * Reads the lines of input into a {@link ByteGrid}, as for {@link #digitGrid()}, but with a
+   * border one cell wide. All border cells (and padding cells for lines shorter than the longest)
+   * are set to {@code sentinel}.
+   */
+  public ByteGrid digitGrid(byte sentinel) throws IOException {
+    return loadGrid(1, sentinel, true);
+  }
+
+  private ByteGrid loadGrid(int border, byte sentinel, boolean digits) throws IOException {
+    ByteBuffer buffer = getBuffer();
+    int limit = buffer.limit();
+    int[] bounds = new int[32];
+    int boundsCount = 0;
+    int width = 0;
+    for (int position = 0; position < limit; ) {
+      int start = position;
+      int end = MappedInput.lineEnd(buffer, start, limit);
+      position = MappedInput.nextLineStart(buffer, end, limit);
+      if (trimmed) {
+        start = MappedInput.trimStart(buffer, start, end);
+        end = MappedInput.trimEnd(buffer, start, end);
+      }
+      if (!stripped || end > start) {
+        if (boundsCount == bounds.length) {
+          bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+        }
+        bounds[boundsCount++] = start;
+        bounds[boundsCount++] = end;
+        width = Math.max(width, end - start);
+      }
+    }
+    ByteGrid grid = new ByteGrid(boundsCount / 2, width, border, sentinel);
+    for (int row = 0; row < grid.height(); row++) {
+      int start = bounds[2 * row];
+      int length = bounds[2 * row + 1] - start;
+      grid.setRow(row, buffer, start, length);
+      if (digits) {
+        for (int column = 0; column < length; column++) {
+          grid.set(row, column, (byte) (grid.get(row, column) - '0'));
+        }
+      }
+    }
+    return grid;
+  }
+
   private Stream<Stream<String>> expand(Stream<String> input) {
     return input
         .map((block) ->
@@ -155,7 +416,132 @@ public class DataSource {
         );
   }
 
+  private Stream<String> rawLines() throws IOException {
+    Stream<String> lines;
+    if (isMapped()) {
+      lines = mappedLines(MappedInput::decode);
+    } else if (inputPath == null && !streaming) {
+      // A classpath resource is read fully into memory, so that (as in path mode) the stream of
+      // lines can be split for parallel processing.
+      lines = bufferLines(MappedInput::decode);
+    } else {
+      BufferedReader reader = new BufferedReader(
+          new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+      lines = reader
+          .lines()
+          .onClose(() -> {
+            try {
+              reader.close();
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    }
+    return lines;
+  }
+
+  private Stream<Stream<String>> paragraphStream(Stream<String> lines) {
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(new ParagraphIterator(lines.iterator()),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE),
+            false)
+        .onClose(lines::close);
+  }
+
+  private <T> Stream<T> pipeline(Stream<T> source) {
+    PipelineSpliterator<T> spliterator = new PipelineSpliterator<>(source);
+    return StreamSupport.stream(spliterator, false)
+        .onClose(spliterator::close);
+  }
+
+  private <T> Stream<T> mappedLines(MappedInput.LineMapper<T> mapper) throws IOException {
+    return StreamSupport.stream(getMappedInput().lineSpliterator(mapper), false);
+  }
+
+  private <T> Stream<T> bufferLines(MappedInput.LineMapper<T> mapper) throws IOException {
+    ByteBuffer buffer = getBuffer();
+    return StreamSupport.stream(new LineSpliterator<>(buffer, 0, buffer.limit(), mapper), false);
+  }
+
+  private CharSequence view(ByteBuffer buffer, int start, int end) {
+    if (trimmed) {
+      start = MappedInput.trimStart(buffer, start, end);
+      end = MappedInput.trimEnd(buffer, start, end);
+    }
+    return new AsciiSequence(buffer, start, end - start);
+  }
+
+  private ByteBuffer slice(ByteBuffer buffer, int start, int end) {
+    if (trimmed) {
+      start = MappedInput.trimStart(buffer, start, end);
+      end = MappedInput.trimEnd(buffer, start, end);
+    }
+    return buffer.slice(start, end - start);
+  }
+
+  private int[] decodeDigits(ByteBuffer buffer, int start, int end) {
+    if (trimmed) {
+      start = MappedInput.trimStart(buffer, start, end);
+      end = MappedInput.trimEnd(buffer, start, end);
+    }
+    int[] digits = new int[end - start];
+    for (int i = 0; i < digits.length; i++) {
+      digits[i] = buffer.get(start + i) - '0';
+    }
+    return digits;
+  }
+
+  private synchronized MappedInput getMappedInput() throws IOException {
+    if (mappedInput == null) {
+      mappedInput = MappedInput.map(inputPath);
+    }
+    return mappedInput;
+  }
+
+  private boolean isMapped() throws IOException {
+    return inputPath != null && !streaming && !compression.isCompressed(getMappedInput().buffer());
+  }
+
+  private ByteBuffer getBuffer() throws IOException {
+    ByteBuffer buffer;
+    if (isMapped()) {
+      buffer = getMappedInput().buffer();
+    } else {
+      try (InputStream input = getInputStream()) {
+        buffer = ByteBuffer.wrap(input.readAllBytes()).asReadOnlyBuffer();
+      }
+    }
+    return buffer;
+  }
+
   private InputStream getInputStream() throws IOException {
+    InputStream input;
+    if (streaming) {
+      input = takeStream();
+    } else {
+      input = (inputPath != null) ? getMappedInput().stream() : getResourceStream();
+    }
+    if (!isMapped()) {
+      input = compression.decompress(input);
+      // Only a decompressing stream (gzip or DEFLATE) does enough work to be worth reading ahead.
+      if (readAhead && input instanceof InflaterInputStream) {
+        input = new ReadAheadInputStream(input);
+      }
+    }
+    return input;
+  }
+
+  private synchronized InputStream takeStream() throws IOException {
+    if (consumed) {
+      throw new IllegalStateException(ALREADY_CONSUMED_MESSAGE);
+    }
+    consumed = true;
+    // FileInputStream is used (rather than Files.newInputStream) because the channel-based stream
+    // attempts to seek in available(), which fails for pipes.
+    return (inputStream != null) ? inputStream : new FileInputStream(inputPath.toFile());
+  }
+
+  private InputStream getResourceStream() throws IOException {
     InputStream input = (context != null)
         ? context.getResourceAsStream(inputFile)
         : getClass().getClassLoader().getResourceAsStream(inputFile);
@@ -169,9 +555,14 @@ public class DataSource {
   public static class Builder {
 
     private String inputFile = DEFAULT_INPUT_FILE;
+    private Path inputPath;
+    private InputStream inputStream;
     private Class<?> context;
     private boolean trimmed = DEFAULT_TRIMMED;
     private boolean stripped = DEFAULT_STRIPPED;
+    private Compression compression = DEFAULT_COMPRESSION;
+    private boolean readAhead = DEFAULT_READ_AHEAD;
+    private boolean pipelined = DEFAULT_PIPELINED;
 
     public Builder() {
       this(null);
@@ -190,6 +581,44 @@ public class DataSource {
       return this;
     }
 
+    /**
+     * Specifies a filesystem location from which input will be read, instead of a classpath
+     * resource. When set, the file is mapped into memory with
+     * {@link java.nio.channels.FileChannel#map}, and all of the line-, block-, and digit-oriented
+     * methods of the {@link DataSource} read directly from the mapped region; the values of
+     * {@link #setInputFile(String)} and {@link #setContext(Class)} are ignored. Setting this to
+     * {@code null} (the default) restores classpath resource mode.
+     * <p>If {@code inputPath} refers to a named pipe (or any other readable file that is not a
+     * regular file), it is not mapped; instead, it is opened once, when first read, and treated as
+     * a single-pass streaming source, as described in {@link #setInputStream(InputStream)}.</p>
+     */
+    public Builder setInputPath(Path inputPath) {
+      this.inputPath = inputPath;
+      return this;
+    }
+
+    /**
+     * Specifies a single-pass streaming source from which input will be read, taking precedence
+     * over {@link #setInputPath(Path)} and {@link #setInputFile(String)}. The stream is not opened
+     * or read for validation; the line-oriented methods of {@link DataSource} read from it
+     * incrementally, so records can be processed as they arrive. Since the stream can only be read
+     * once, only one method returning input content may be invoked on the resulting
+     * {@link DataSource}; subsequent invocations throw {@link IllegalStateException}. The stream is
+     * closed when the {@link Stream} reading from it is closed.
+     */
+    public Builder setInputStream(InputStream inputStream) {
+      this.inputStream = inputStream;
+      return this;
+    }
+
+    /**
+     * Specifies standard input ({@link System#in}) as a single-pass streaming source. This is
+     * equivalent to {@link #setInputStream(InputStream) setInputStream(System.in)}.
+     */
+    public Builder setStandardInput() {
+      return setInputStream(System.in);
+    }
+
     public Builder setContext(Class<?> context) {
       this.context = context;
       return this;
@@ -210,6 +639,45 @@ public class DataSource {
       return this;
     }
 
+    /**
+     * Specifies the compression format of the input. With the default value of
+     * {@link Compression#AUTO}, gzip-compressed input (from a classpath resource or a file) is
+     * detected by its magic number, and decompressed as it is read; raw DEFLATE input must be
+     * specified explicitly with {@link Compression#DEFLATE}. Compressed input in path mode is
+     * still mapped into memory, but the line-oriented methods of {@link DataSource} read from the
+     * decompressed stream, rather than directly from the mapped region.
+     */
+    public Builder setCompression(Compression compression) {
+      this.compression = compression;
+      return this;
+    }
+
+    /**
+     * Specifies whether compressed input is decompressed on a background thread, reading ahead of
+     * the consumer (by a bounded amount), so that decompression overlaps with parsing. Read-ahead
+     * applies only to input that is actually decompressed (as gzip or DEFLATE, per
+     * {@link #setCompression(Compression)}); uncompressed input is always read on the consumer
+     * thread, so this setting has no effect on it.
+     */
+    public Builder setReadAhead(boolean readAhead) {
+      this.readAhead = readAhead;
+      return this;
+    }
+
+    /**
+     * Specifies whether {@link DataSource#lines()}, {@link DataSource#blocks(Pattern)}, and
+     * {@link DataSource#paragraphs()} read, decode, and split input on a background producer
+     * thread, passing the results to the consumer in batches through a bounded queue. This allows
+     * I/O and parsing to overlap with the work of the consumer; it is most beneficial for large
+     * inputs, where the consumer performs significant work per element. Streams returned in this
+     * mode should be closed (e.g. with try-with-resources), to stop the producer thread if they
+     * are not consumed fully.
+     */
+    public Builder setPipelined(boolean pipelined) {
+      this.pipelined = pipelined;
+      return this;
+    }
+
     public DataSource build() throws IOException {
       return new DataSource(this);
     }
@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import com.nickbenn.adventofcode.view.MappedInput.LineMapper;
+import java.nio.ByteBuffer;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} over the lines in a range of a {@link ByteBuffer}, converting each line to an
+ * element with a {@link LineMapper}. Splitting divides the remaining range at the first line
+ * boundary following its midpoint (or, if there is none, the last line boundary preceding it), so
+ * that both halves contain whole lines, and are of roughly equal size in bytes.
+ * <p>The number of lines in a range isn't known without scanning it, so this spliterator does not
+ * report {@link #SIZED} or {@link #SUBSIZED}; instead, {@link #estimateSize()} returns the number
+ * of bytes remaining, divided by an average line length sampled from the start of the original
+ * range. This is generally close enough for a parallel stream to balance its work across
+ * threads.</p>
+ *
+ * @param <T> Element type.
+ */
+class LineSpliterator<T> implements Spliterator<T> {
+
+  private static final int SAMPLE_SIZE = 1 << 13;
+  private static final int MIN_SPLIT_SIZE = 1 << 12;
+  private static final int CHARACTERISTICS = ORDERED | NONNULL | IMMUTABLE;
+
+  private final ByteBuffer buffer;
+  private final LineMapper<T> mapper;
+  private final int averageLength;
+  private final int limit;
+
+  private int position;
+
+  /**
+   * Initializes this instance to traverse the lines in the range {@code start..(limit - 1)} of
+   * {@code buffer}. The value of {@code start} must be the start of a line.
+   *
+   * @param buffer Source of line content; this is only read using absolute positions.
+   * @param start  Position of first byte in range.
+   * @param limit  Position immediately following the last byte in range.
+   * @param mapper Conversion from line bounds to element.
+   */
+  LineSpliterator(ByteBuffer buffer, int start, int limit, LineMapper<T> mapper) {
+    this(buffer, start, limit, mapper, sampleAverageLength(buffer, start, limit));
+  }
+
+  private LineSpliterator(
+      ByteBuffer buffer, int start, int limit, LineMapper<T> mapper, int averageLength) {
+    this.buffer = buffer;
+    this.mapper = mapper;
+    this.averageLength = averageLength;
+    position = start;
+    this.limit = limit;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    boolean advanced = false;
+    if (position < limit) {
+      int end = MappedInput.lineEnd(buffer, position, limit);
+      T element = mapper.map(buffer, position, end);
+      position = MappedInput.nextLineStart(buffer, end, limit);
+      action.accept(element);
+      advanced = true;
+    }
+    return advanced;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    int position = this.position;
+    int limit = this.limit;
+    this.position = limit;
+    while (position < limit) {
+      int end = MappedInput.lineEnd(buffer, position, limit);
+      action.accept(mapper.map(buffer, position, end));
+      position = MappedInput.nextLineStart(buffer, end, limit);
+    }
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    Spliterator<T> prefix = null;
+    if (limit - position >= MIN_SPLIT_SIZE) {
+      int midpoint = position + (limit - position) / 2;
+      int split = MappedInput.nextLineStart(
+          buffer, MappedInput.lineEnd(buffer, midpoint, limit), limit);
+      if (split >= limit) {
+        split = previousLineStart(midpoint);
+      }
+      if (split > position && split < limit) {
+        prefix = new LineSpliterator<>(buffer, position, split, mapper, averageLength);
+        position = split;
+      }
+    }
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return (limit - position + averageLength - 1) / averageLength;
+  }
+
+  @Override
+  public int characteristics() {
+    return CHARACTERISTICS;
+  }
+
+  private int previousLineStart(int before) {
+    int index = before - 1;
+    while (index >= position && buffer.get(index) != '\n' && buffer.get(index) != '\r') {
+      index--;
+    }
+    return (index >= position) ? MappedInput.nextLineStart(buffer, index, limit) : position;
+  }
+
+  private static int sampleAverageLength(ByteBuffer buffer, int start, int limit) {
+    int sampleLimit = Math.min(limit, start + SAMPLE_SIZE);
+    int lines = 0;
+    int position = start;
+    while (position < sampleLimit) {
+      position = MappedInput.nextLineStart(
+          buffer, MappedInput.lineEnd(buffer, position, sampleLimit), sampleLimit);
+      lines++;
+    }
+    return Math.max(1, (sampleLimit - start) / Math.max(1, lines));
+  }
+
+}
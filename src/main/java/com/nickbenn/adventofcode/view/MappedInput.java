@@ -0,0 +1,234 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+
+/**
+ * Read-only view of the contents of a file, mapped into memory with
+ * {@link FileChannel#map(MapMode, long, long)}. Line boundaries are located by scanning the mapped
+ * bytes directly, so only the portions of the file actually read are paged in. Line terminators
+ * are recognized in the same manner as {@link java.io.BufferedReader#readLine()}: {@code '\n'},
+ * {@code '\r'}, or {@code "\r\n"}.
+ * <p>All reads from the underlying buffer use absolute positions; a single instance may thus be
+ * shared by any number of consumers, including concurrent consumers.</p>
+ */
+class MappedInput {
+
+  private static final String FILE_TOO_LARGE_FORMAT =
+      "File \"%1$s\" (%2$,d bytes) exceeds the maximum mappable size of %3$,d bytes";
+
+  private final ByteBuffer buffer;
+
+  private MappedInput(ByteBuffer buffer) {
+    this.buffer = buffer.asReadOnlyBuffer();
+  }
+
+  /**
+   * Maps the entire contents of the file at {@code path} into memory, and returns an instance
+   * reading from the mapped region. The file channel used for mapping is closed before this method
+   * returns; the mapping remains valid until the returned instance is garbage-collected.
+   *
+   * @param path Location of file to map.
+   * @return Instance reading from mapped file contents.
+   * @throws IOException If the file cannot be opened or mapped, or if it is larger than
+   *                     {@link Integer#MAX_VALUE} bytes.
+   */
+  static MappedInput map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException(
+            String.format(FILE_TOO_LARGE_FORMAT, path, size, Integer.MAX_VALUE));
+      }
+      return new MappedInput(channel.map(MapMode.READ_ONLY, 0, size));
+    }
+  }
+
+  /**
+   * Returns the mapped region. The returned buffer is read-only, and must be read using absolute
+   * positions only.
+   */
+  ByteBuffer buffer() {
+    return buffer;
+  }
+
+  /**
+   * Returns the size (in bytes) of the mapped region.
+   */
+  int size() {
+    return buffer.limit();
+  }
+
+  /**
+   * Returns a new {@link InputStream} over the full mapped region. Each invocation returns an
+   * independent stream, starting at the beginning of the region.
+   */
+  InputStream stream() {
+    return new BufferInputStream(buffer.duplicate());
+  }
+
+  /**
+   * Returns a {@link Spliterator Spliterator&lt;T&gt;} over the lines of the mapped region, where
+   * each line (excluding its terminator) is converted to an element by {@code mapper}. The returned
+   * spliterator splits at line boundaries, and is thus suitable for use in a parallel stream.
+   *
+   * @param mapper Conversion from line bounds to element.
+   * @param <T>    Element type.
+   */
+  <T> Spliterator<T> lineSpliterator(LineMapper<T> mapper) {
+    return new LineSpliterator<>(buffer, 0, buffer.limit(), mapper);
+  }
+
+  /**
+   * Returns the index of the first line terminator character ({@code '\n'} or {@code '\r'}) at or
+   * after {@code from} and before {@code limit}; if there is no such character, {@code limit} is
+   * returned.
+   */
+  static int lineEnd(ByteBuffer buffer, int from, int limit) {
+    int position = from;
+    while (position < limit) {
+      byte b = buffer.get(position);
+      if (b == '\n' || b == '\r') {
+        break;
+      }
+      position++;
+    }
+    return position;
+  }
+
+  /**
+   * Returns the index of the start of the line following the line terminator at
+   * {@code lineEnd}&mdash;that is, {@code lineEnd + 2} for a {@code "\r\n"} terminator,
+   * {@code lineEnd + 1} for any other terminator, or {@code limit} if {@code lineEnd} is at (or
+   * beyond) {@code limit}.
+   */
+  static int nextLineStart(ByteBuffer buffer, int lineEnd, int limit) {
+    int next;
+    if (lineEnd >= limit) {
+      next = limit;
+    } else if (buffer.get(lineEnd) == '\r' && lineEnd + 1 < limit
+        && buffer.get(lineEnd + 1) == '\n') {
+      next = lineEnd + 2;
+    } else {
+      next = lineEnd + 1;
+    }
+    return next;
+  }
+
+  /**
+   * Returns the position of the first byte in the range {@code start..(end - 1)} with a value
+   * greater than {@code ' '} (treating bytes as unsigned), or {@code end} if there is none.
+   */
+  static int trimStart(ByteBuffer buffer, int start, int end) {
+    while (start < end && isTrimmable(buffer.get(start))) {
+      start++;
+    }
+    return start;
+  }
+
+  /**
+   * Returns the position immediately following the last byte in the range
+   * {@code start..(end - 1)} with a value greater than {@code ' '} (treating bytes as unsigned),
+   * or {@code start} if there is none.
+   */
+  static int trimEnd(ByteBuffer buffer, int start, int end) {
+    while (end > start && isTrimmable(buffer.get(end - 1))) {
+      end--;
+    }
+    return end;
+  }
+
+  /**
+   * Decodes the bytes in the range {@code start..(end - 1)} as UTF-8, returning the result.
+   */
+  static String decode(ByteBuffer buffer, int start, int end) {
+    byte[] bytes = new byte[end - start];
+    buffer.get(start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static boolean isTrimmable(byte b) {
+    return b >= 0 && b <= ' ';
+  }
+
+  /**
+   * Converts the bytes of a single line (excluding the line terminator) to an element of type
+   * {@code T}.
+   *
+   * @param <T> Element type.
+   */
+  @FunctionalInterface
+  interface LineMapper<T> {
+
+    /**
+     * Converts the bytes of {@code buffer} in the range {@code start..(end - 1)} to an instance of
+     * {@code T}. Implementations must use absolute reads only.
+     */
+    T map(ByteBuffer buffer, int start, int end);
+
+  }
+
+  private static class BufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    private BufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? (buffer.get() & 0xff) : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      int count;
+      if (length == 0) {
+        count = 0;
+      } else if (!buffer.hasRemaining()) {
+        count = -1;
+      } else {
+        count = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, count);
+      }
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+      buffer.position(buffer.position() + count);
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+
+  }
+
+}
@@ -0,0 +1,181 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor over the integers embedded in a {@link CharSequence}, parsing ASCII digits directly into
+ * {@code int} or {@code long} values, without regular expressions, substrings, or boxing. An
+ * integer is a maximal run of the digits {@code '0'..'9'}, optionally preceded by {@code '-'}; all
+ * other characters are treated as separators and skipped. A {@code '-'} immediately following a
+ * digit is a separator, not a sign; thus, {@code "1-2"} is read as 1 and 2, not as 1 and -2.
+ * <p>Since parsing is performed with {@link CharSequence#charAt(int)}, this class works equally
+ * well with {@link String} instances and with the views returned by
+ * {@link DataSource#lineViews()}.</p>
+ */
+public final class NumberScanner {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final CharSequence source;
+  private final int start;
+  private final int end;
+
+  private int position;
+
+  /**
+   * Initializes this instance to scan all of {@code source}.
+   *
+   * @param source Characters to scan.
+   */
+  public NumberScanner(CharSequence source) {
+    this(source, 0, source.length());
+  }
+
+  /**
+   * Initializes this instance to scan the characters of {@code source} in the range
+   * {@code start..(end - 1)}.
+   *
+   * @param source Characters to scan.
+   * @param start  Index of first character to scan.
+   * @param end    Index following last character to scan.
+   */
+  public NumberScanner(CharSequence source, int start, int end) {
+    if (start < 0 || end > source.length() || start > end) {
+      throw new IndexOutOfBoundsException();
+    }
+    this.source = source;
+    this.start = start;
+    this.end = end;
+    position = start;
+  }
+
+  /**
+   * Returns all of the integers in {@code source}, as an {@code int[]}.
+   *
+   * @throws ArithmeticException If any of the integers is outside the range of {@code int}.
+   */
+  public static int[] ints(CharSequence source) {
+    return new NumberScanner(source).remainingInts();
+  }
+
+  /**
+   * Returns all of the integers in {@code source}, as a {@code long[]}.
+   *
+   * @throws ArithmeticException If any of the integers is outside the range of {@code long}.
+   */
+  public static long[] longs(CharSequence source) {
+    return new NumberScanner(source).remainingLongs();
+  }
+
+  /**
+   * Advances past any separator characters, and returns a flag indicating whether there is an
+   * integer remaining to be read.
+   */
+  public boolean hasNext() {
+    while (position < end && !isNumberStart(position)) {
+      position++;
+    }
+    return position < end;
+  }
+
+  /**
+   * Reads and returns the next integer as an {@code int}.
+   *
+   * @throws NoSuchElementException If there are no more integers to be read.
+   * @throws ArithmeticException    If the integer is outside the range of {@code int}.
+   */
+  public int nextInt() {
+    return Math.toIntExact(nextLong());
+  }
+
+  /**
+   * Reads and returns the next integer as a {@code long}.
+   *
+   * @throws NoSuchElementException If there are no more integers to be read.
+   * @throws ArithmeticException    If the integer is outside the range of {@code long}.
+   */
+  public long nextLong() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    boolean negative = source.charAt(position) == '-';
+    if (negative) {
+      position++;
+    }
+    long value = 0;
+    for (char c; position < end && (c = source.charAt(position)) >= '0' && c <= '9'; position++) {
+      // Accumulate as a negative value, so that Long.MIN_VALUE can be represented.
+      value = Math.subtractExact(Math.multiplyExact(value, 10), c - '0');
+    }
+    return negative ? value : Math.negateExact(value);
+  }
+
+  /**
+   * Reads all of the remaining integers, returning them as an {@code int[]}.
+   *
+   * @throws ArithmeticException If any of the integers is outside the range of {@code int}.
+   */
+  public int[] remainingInts() {
+    int[] values = new int[INITIAL_CAPACITY];
+    int count = 0;
+    while (hasNext()) {
+      if (count == values.length) {
+        values = Arrays.copyOf(values, 2 * count);
+      }
+      values[count++] = nextInt();
+    }
+    return Arrays.copyOf(values, count);
+  }
+
+  /**
+   * Reads all of the remaining integers, returning them as a {@code long[]}.
+   *
+   * @throws ArithmeticException If any of the integers is outside the range of {@code long}.
+   */
+  public long[] remainingLongs() {
+    long[] values = new long[INITIAL_CAPACITY];
+    int count = 0;
+    while (hasNext()) {
+      if (count == values.length) {
+        values = Arrays.copyOf(values, 2 * count);
+      }
+      values[count++] = nextLong();
+    }
+    return Arrays.copyOf(values, count);
+  }
+
+  /**
+   * Returns the index (in the source {@link CharSequence}) of the next character to be examined.
+   */
+  public int position() {
+    return position;
+  }
+
+  private boolean isNumberStart(int index) {
+    return isDigit(index)
+        || (source.charAt(index) == '-' && index + 1 < end && isDigit(index + 1)
+        && (index == start || !isDigit(index - 1)));
+  }
+
+  private boolean isDigit(int index) {
+    char c = source.charAt(index);
+    return c >= '0' && c <= '9';
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Groups the lines returned by an underlying {@link Iterator Iterator&lt;String&gt;} into
+ * paragraphs&mdash;that is, maximal runs of lines that are not blank (as defined by
+ * {@link String#isBlank()}). Each paragraph is returned as a lazy
+ * {@link Stream Stream&lt;String&gt;} reading directly from the shared underlying iterator; no
+ * paragraph is buffered. Each underlying line is read exactly once, and no regular expressions are
+ * evaluated. Runs of multiple blank lines are treated as a single separator, and leading and
+ * trailing blank lines are ignored; thus, every paragraph returned contains at least one line.
+ * <p>Since the paragraph streams share the underlying iterator, each is only valid until the next
+ * invocation of {@link #hasNext()} or {@link #next()} on this instance; any lines of a paragraph
+ * not consumed by then are skipped. Paragraph streams are sequential, and must be consumed on the
+ * same thread as this instance.</p>
+ */
+class ParagraphIterator implements Iterator<Stream<String>> {
+
+  private static final int CHARACTERISTICS =
+      Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+  private final Iterator<String> lines;
+
+  private String pending;
+  private Paragraph current;
+
+  /**
+   * Initializes this instance to read lines from {@code lines}. The lines are expected to be
+   * untrimmed and unfiltered; in particular, blank lines must not be removed.
+   */
+  ParagraphIterator(Iterator<String> lines) {
+    this.lines = lines;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (current != null) {
+      current.skip();
+      current = null;
+    }
+    while (pending == null && lines.hasNext()) {
+      String line = lines.next();
+      if (!line.isBlank()) {
+        pending = line;
+      }
+    }
+    return pending != null;
+  }
+
+  @Override
+  public Stream<String> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    current = new Paragraph();
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(current, CHARACTERISTICS), false);
+  }
+
+  /**
+   * Lines of the current paragraph, starting with the pending (first) line, and ending before the
+   * next blank line (or the end of the underlying lines).
+   */
+  private class Paragraph implements Iterator<String> {
+
+    private boolean ended;
+
+    @Override
+    public boolean hasNext() {
+      if (!ended && pending == null) {
+        if (lines.hasNext()) {
+          String line = lines.next();
+          if (line.isBlank()) {
+            ended = true;
+          } else {
+            pending = line;
+          }
+        } else {
+          ended = true;
+        }
+      }
+      return !ended;
+    }
+
+    @Override
+    public String next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      String line = pending;
+      pending = null;
+      return line;
+    }
+
+    private void skip() {
+      while (hasNext()) {
+        next();
+      }
+      ended = true;
+    }
+
+  }
+
+}
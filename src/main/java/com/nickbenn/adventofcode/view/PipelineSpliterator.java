@@ -0,0 +1,217 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * {@link Spliterator} that traverses a source {@link Stream} on a background (daemon) producer
+ * thread, passing elements to the consumer in batches, through a bounded queue. Thus, the work of
+ * the source stream (reading, decoding, and splitting input) overlaps with the work of the
+ * consumer, while the number of elements buffered between the two remains bounded.
+ * <p>The producer thread is started on the first traversal. An exception thrown by the source
+ * stream is rethrown on the consumer thread, after all elements produced before it have been
+ * consumed. Once started, the producer thread owns the source stream, and closes it (on that
+ * thread) when it finishes or is stopped; thus, the source is never closed while it is being read.
+ * {@link #close()} stops the producer thread, and waits briefly for it to finish; it should be
+ * registered as a close handler of any stream created from an instance of this class.</p>
+ *
+ * @param <T> Element type.
+ */
+class PipelineSpliterator<T> implements Spliterator<T> {
+
+  private static final int BATCH_SIZE = 1 << 8;
+  private static final int QUEUE_CAPACITY = 1 << 4;
+  private static final int CHARACTERISTICS = ORDERED | NONNULL;
+  private static final List<?> END = new ArrayList<>(0);
+  private static final String THREAD_NAME = "DataSource-pipeline";
+  private static final String INTERRUPTED_MESSAGE =
+      "Interrupted while waiting for the pipeline producer";
+
+  private final Stream<T> source;
+  private final BlockingQueue<List<T>> queue;
+
+  private volatile Throwable failure;
+  private Thread producer;
+  private List<T> batch;
+  private int index;
+  private volatile boolean closed;
+
+  /**
+   * Initializes this instance to traverse the elements of {@code source}.
+   */
+  PipelineSpliterator(Stream<T> source) {
+    this.source = source;
+    queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    boolean advanced = nextBatch();
+    if (advanced) {
+      action.accept(batch.get(index++));
+    }
+    return advanced;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    while (nextBatch()) {
+      List<T> batch = this.batch;
+      int size = batch.size();
+      for (int i = index; i < size; i++) {
+        action.accept(batch.get(i));
+      }
+      index = size;
+    }
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return CHARACTERISTICS;
+  }
+
+  /**
+   * Stops the producer thread (if it has been started), waits briefly for it to close the source
+   * stream and finish, and discards any buffered elements; if the producer thread was never
+   * started, the source stream is closed directly. Any further traversal of this instance ends
+   * immediately.
+   * <p>Usually, the source stream has been closed when this method returns. However, if the
+   * producer thread is blocked in a read that doesn't respond to interruption (e.g. from
+   * {@link System#in} or a named pipe), this method returns without waiting for that read, and the
+   * producer thread closes the source stream when the read completes. In the meantime, that thread
+   * (a daemon thread) doesn't prevent the JVM from exiting.</p>
+   */
+  void close() {
+    Thread producer;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      producer = this.producer;
+    }
+    if (producer != null) {
+      Threads.stop(producer);
+    } else {
+      source.close();
+    }
+    queue.clear();
+    queue.add(end());
+  }
+
+  private boolean nextBatch() {
+    if (closed) {
+      batch = end();
+      return false;
+    }
+    if (producer == null) {
+      start();
+    }
+    try {
+      while (batch != END && (batch == null || index == batch.size())) {
+        batch = queue.take();
+        index = 0;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      CancellationException cancellation = new CancellationException(INTERRUPTED_MESSAGE);
+      cancellation.initCause(e);
+      throw cancellation;
+    }
+    if (batch == END && failure != null) {
+      throw rethrow(failure);
+    }
+    return batch != END;
+  }
+
+  private synchronized void start() {
+    if (!closed) {
+      producer = new Thread(this::produce, THREAD_NAME);
+      producer.setDaemon(true);
+      producer.start();
+    }
+  }
+
+  private void produce() {
+    List<T> batch = new ArrayList<>(BATCH_SIZE);
+    try {
+      try {
+        Iterator<T> iterator = source.iterator();
+        while (iterator.hasNext()) {
+          batch.add(iterator.next());
+          if (batch.size() == BATCH_SIZE) {
+            queue.put(batch);
+            batch = new ArrayList<>(BATCH_SIZE);
+          }
+        }
+      } catch (RuntimeException | Error e) {
+        failure = e;
+      } finally {
+        closeSource();
+      }
+      if (!batch.isEmpty()) {
+        queue.put(batch);
+      }
+      queue.put(end());
+    } catch (InterruptedException e) {
+      // Consumer closed the stream; exit quietly.
+    }
+  }
+
+  private void closeSource() {
+    try {
+      source.close();
+    } catch (RuntimeException e) {
+      if (failure == null) {
+        failure = e;
+      } else {
+        failure.addSuppressed(e);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<T> end() {
+    return (List<T>) END;
+  }
+
+  private static RuntimeException rethrow(Throwable failure) {
+    if (failure instanceof Error error) {
+      throw error;
+    }
+    return (RuntimeException) failure;
+  }
+
+}
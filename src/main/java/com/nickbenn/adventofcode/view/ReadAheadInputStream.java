@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * {@link InputStream} that reads ahead from a source stream on a background (daemon) thread, so
+ * that work performed by the source (e.g. decompression) overlaps with work performed by the
+ * consumer (e.g. parsing). Content is passed from the background thread to the consumer through
+ * a bounded queue, one chunk (of at most 64 KiB) per read of the source; thus, the amount of
+ * content read ahead is limited, and content becomes available to the consumer as soon as the
+ * source returns it, even when the source is an interactive stream or pipe.
+ * <p>An exception thrown by the source is rethrown (wrapped in an {@link IOException}) to the
+ * consumer, once all content read before the exception has been consumed. The background thread
+ * owns the source, and closes it (on that thread) when it reaches the end of the source, fails, or
+ * is stopped; thus, the source is never closed while it is being read. Closing this stream stops
+ * the background thread, and waits briefly for it to finish; see {@link #close()}.</p>
+ * <p>{@link DataSource} only uses this class for compressed input (i.e. when the source is a
+ * decompressing stream); uncompressed input involves no work on the source side worth overlapping
+ * with parsing, so it is read directly on the consumer thread.</p>
+ */
+class ReadAheadInputStream extends InputStream {
+
+  private static final int CHUNK_SIZE = 1 << 16;
+  private static final int QUEUE_CAPACITY = 4;
+  private static final byte[] END = new byte[0];
+  private static final String THREAD_NAME = "DataSource-read-ahead";
+  private static final String STREAM_CLOSED_MESSAGE = "Stream closed";
+
+  private final InputStream source;
+  private final BlockingQueue<byte[]> queue;
+  private final Thread worker;
+
+  private volatile Exception failure;
+  private byte[] chunk;
+  private int offset;
+  private boolean closed;
+
+  /**
+   * Initializes this instance to read from {@code source}, and starts the background thread.
+   */
+  ReadAheadInputStream(InputStream source) {
+    this.source = source;
+    queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    worker = new Thread(this::fill, THREAD_NAME);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @Override
+  public int read() throws IOException {
+    return nextChunk() ? (chunk[offset++] & 0xff) : -1;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    Objects.checkFromIndexSize(off, len, b.length);
+    int count;
+    if (len == 0) {
+      count = 0;
+    } else if (nextChunk()) {
+      count = Math.min(len, chunk.length - offset);
+      System.arraycopy(chunk, offset, b, off, count);
+      offset += count;
+    } else {
+      count = -1;
+    }
+    return count;
+  }
+
+  @Override
+  public int available() throws IOException {
+    if (closed) {
+      throw new IOException(STREAM_CLOSED_MESSAGE);
+    }
+    return (chunk != null) ? chunk.length - offset : 0;
+  }
+
+  /**
+   * Stops the background thread, waits briefly for it to close the source and finish, and discards
+   * any content read ahead. Usually, the source has been closed when this method returns; however,
+   * if the background thread is blocked in a read that doesn't respond to interruption (e.g. from
+   * {@link System#in} or a named pipe), this method returns without waiting for that read, and the
+   * background thread closes the source when the read completes. In the meantime, that thread (a
+   * daemon thread) doesn't prevent the JVM from exiting.
+   */
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      Threads.stop(worker);
+      queue.clear();
+      chunk = END;
+    }
+  }
+
+  private boolean nextChunk() throws IOException {
+    if (closed) {
+      throw new IOException(STREAM_CLOSED_MESSAGE);
+    }
+    if (chunk == null || (chunk != END && offset == chunk.length)) {
+      try {
+        chunk = queue.take();
+        offset = 0;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+    if (chunk == END && failure != null) {
+      throw new IOException(failure);
+    }
+    return chunk != END;
+  }
+
+  private void fill() {
+    byte[] buffer = new byte[CHUNK_SIZE];
+    try {
+      try {
+        for (int read; (read = source.read(buffer)) >= 0; ) {
+          if (read == CHUNK_SIZE) {
+            queue.put(buffer);
+            buffer = new byte[CHUNK_SIZE];
+          } else if (read > 0) {
+            // Hand over a short read immediately; waiting to fill the chunk would withhold content
+            // that is already available (e.g. a flushed line from a pipe) until more arrives.
+            queue.put(Arrays.copyOf(buffer, read));
+          }
+        }
+      } catch (IOException | RuntimeException e) {
+        failure = e;
+      } finally {
+        closeSource();
+      }
+      queue.put(END);
+    } catch (InterruptedException e) {
+      // Consumer closed this stream; exit quietly.
+    }
+  }
+
+  private void closeSource() {
+    try {
+      source.close();
+    } catch (IOException | RuntimeException e) {
+      if (failure == null) {
+        failure = e;
+      } else {
+        failure.addSuppressed(e);
+      }
+    }
+  }
+
+}
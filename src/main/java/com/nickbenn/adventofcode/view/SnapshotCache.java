@@ -0,0 +1,175 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+
+/**
+ * Persistent cache of parsed input, stored in a compact binary format, and keyed by a digest of the
+ * input content (see {@link DataSource#contentDigest()}). On a cache hit, a parsed model is
+ * restored from a single memory-mapped read of its snapshot file, instead of being re-parsed from
+ * the text input; on a miss, the input is parsed as usual, and a snapshot is written for use on
+ * subsequent runs.
+ * <p>Caching is disabled unless the {@value #DIRECTORY_PROPERTY} system property is set to the
+ * location of a directory (which will be created if necessary) in which snapshots are stored. When
+ * it is disabled (or the {@link DataSource} is {@linkplain DataSource#isStreaming() streaming},
+ * and thus can't be read twice), {@link #load(DataSource, Class, Codec, Parser)} simply invokes
+ * the specified {@link Parser}.</p>
+ * <p>Even on a hit, the input is read once, to compute its digest; thus, caching only pays off for
+ * models that take substantially more work to build than reading and hashing the input (e.g. models
+ * produced by combining or simulating what is parsed), rather than those that are a direct
+ * transcription of it.</p>
+ */
+public final class SnapshotCache {
+
+  /**
+   * Name of the system property specifying the snapshot directory.
+   */
+  public static final String DIRECTORY_PROPERTY = "adventofcode.snapshot.dir";
+
+  private static final int MAGIC = 0x414f4353;
+  private static final String FILE_NAME_FORMAT = "%1$s-%2$s.bin";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  private SnapshotCache() {
+  }
+
+  /**
+   * Returns the model parsed from {@code source}, restoring it from a snapshot if caching is
+   * enabled and a valid snapshot exists for the current content of {@code source}; otherwise, the
+   * model is obtained from {@code parser}, and (if caching is enabled) a snapshot is written. A
+   * snapshot that cannot be decoded (i.e. for which {@link Codec#read(ByteBuffer)} throws any
+   * {@link RuntimeException}), or was written with a different {@link Codec#version()}, is treated
+   * as a cache miss, and replaced.
+   *
+   * @param source Input data.
+   * @param owner  Class whose parsed model is cached; snapshots are partitioned by class name.
+   * @param codec  Binary encoding of the model.
+   * @param parser Conversion from text input to model.
+   * @param <T>    Model type.
+   * @throws IOException If {@code source} cannot be read, or a snapshot cannot be written.
+   */
+  public static <T> T load(DataSource source, Class<?> owner, Codec<T> codec, Parser<T> parser)
+      throws IOException {
+    String directoryName = System.getProperty(DIRECTORY_PROPERTY);
+    T value;
+    if (directoryName == null || directoryName.isBlank() || source.isStreaming()) {
+      value = parser.parse(source);
+    } else {
+      Path directory = Path.of(directoryName);
+      Path file = directory.resolve(String.format(FILE_NAME_FORMAT,
+          owner.getName(), HexFormat.of().formatHex(source.contentDigest())));
+      value = read(file, codec);
+      if (value == null) {
+        value = parser.parse(source);
+        write(directory, file, codec, value);
+      }
+    }
+    return value;
+  }
+
+  private static <T> T read(Path file, Codec<T> codec) throws IOException {
+    T value = null;
+    if (Files.isRegularFile(file)) {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.getInt() == MAGIC && buffer.getInt() == codec.version()) {
+          value = codec.read(buffer);
+        }
+      } catch (RuntimeException e) {
+        // A truncated or corrupt snapshot may fail to decode in any number of ways; in every case,
+        // it is treated as a miss, and replaced.
+        value = null;
+      }
+    }
+    return value;
+  }
+
+  private static <T> void write(Path directory, Path file, Codec<T> codec, T value)
+      throws IOException {
+    Files.createDirectories(directory);
+    Path temp = Files.createTempFile(directory, file.getFileName().toString(), TEMP_FILE_SUFFIX);
+    try {
+      try (DataOutputStream output =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        output.writeInt(MAGIC);
+        output.writeInt(codec.version());
+        codec.write(value, output);
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Binary encoding of a parsed model. Values are written with a {@link DataOutput}, and read
+   * from a {@link ByteBuffer} with the default (big-endian) byte order, so the primitive
+   * representations of the two are compatible.
+   *
+   * @param <T> Model type.
+   */
+  public interface Codec<T> {
+
+    /**
+     * Returns the version of the encoding. This should be changed whenever the encoding (or the
+     * model itself) changes, so that existing snapshots are not misread.
+     */
+    int version();
+
+    /**
+     * Writes {@code value} to {@code output}.
+     */
+    void write(T value, DataOutput output) throws IOException;
+
+    /**
+     * Reads a value from {@code input}, starting at its current position. Implementations need not
+     * validate the encoding exhaustively: any {@link RuntimeException} thrown (e.g.
+     * {@link BufferUnderflowException} for a truncated snapshot, or
+     * {@link NegativeArraySizeException} for a corrupt count) is treated as a cache miss.
+     */
+    T read(ByteBuffer input);
+
+  }
+
+  /**
+   * Conversion of text input into a parsed model.
+   *
+   * @param <T> Model type.
+   */
+  @FunctionalInterface
+  public interface Parser<T> {
+
+    /**
+     * Reads and parses the content of {@code source}.
+     */
+    T parse(DataSource source) throws IOException;
+
+  }
+
+}
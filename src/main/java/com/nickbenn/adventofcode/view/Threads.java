@@ -0,0 +1,58 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lifecycle helpers for the background (daemon) threads started by {@link ReadAheadInputStream}
+ * and {@link PipelineSpliterator}.
+ */
+final class Threads {
+
+  private static final long STOP_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+  private Threads() {
+  }
+
+  /**
+   * Interrupts {@code thread}, and waits a short, bounded time for it to finish. The wait isn't
+   * ended early by interruption of the calling thread; instead, the interrupt status of the calling
+   * thread is restored before this method returns.
+   *
+   * @return {@code true} if {@code thread} has finished; {@code false} if it's still running&mdash;
+   *     typically because it is blocked in a read that doesn't respond to interruption (e.g. from
+   *     {@link System#in} or a named pipe).
+   */
+  static boolean stop(Thread thread) {
+    thread.interrupt();
+    long deadline = System.nanoTime() + STOP_TIMEOUT_NANOS;
+    boolean interrupted = false;
+    for (long remaining = STOP_TIMEOUT_NANOS; remaining > 0 && thread.isAlive();
+        remaining = deadline - System.nanoTime()) {
+      try {
+        TimeUnit.NANOSECONDS.timedJoin(thread, remaining);
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    return !thread.isAlive();
+  }
+
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.day01;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the throughput of the digit-word search implementations on synthetic calibration
+ * lines, each several kilobytes long, with the digits and digit words placed sparsely. Run with
+ * {@code ./gradlew trebuchetBenchmark} (which adds the {@code vector} source set to the classpath
+ * and enables the {@code jdk.incubator.vector} module), or directly, in which case the Vector API
+ * implementation is skipped.
+ */
+public class TrebuchetBenchmark {
+
+  private static final int LINE_COUNT = 2_000;
+  private static final int LINE_LENGTH = 8_192;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+  private static final long SEED = 2023L;
+  private static final String FILLER = "abcdghjklmpqruvwxy";
+  private static final String[] WORDS = DigitScanner.DIGIT_WORDS;
+  private static final Pattern FIRST_DIGIT_OR_WORD_EXTRACTOR =
+      Pattern.compile("^.*?((\\d)|zero|one|two|three|four|five|six|seven|eight|nine).*$");
+  private static final Pattern LAST_DIGIT_OR_WORD_EXTRACTOR =
+      Pattern.compile("^.*((\\d)|zero|one|two|three|four|five|six|seven|eight|nine).*$");
+  private static final Map<String, Integer> DIGIT_WORDS = IntStream.range(0, WORDS.length)
+      .boxed()
+      .collect(Collectors.toMap((digit) -> WORDS[digit], (digit) -> digit));
+
+  public static void main(String[] args) {
+    List<String> lines = generateLines();
+    List<ByteBuffer> buffers = lines
+        .stream()
+        .map((line) -> ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII)))
+        .toList();
+    long regexNanos = measure("regex", () -> lines
+        .stream()
+        .mapToLong(TrebuchetBenchmark::regexCalibrationValue)
+        .sum());
+    long scalarNanos = measure("automaton", () -> sum(buffers, DigitScanner.DIGITS_AND_WORDS));
+    System.out.printf("automaton speedup over regex: %.1fx%n", (double) regexNanos / scalarNanos);
+    if (DigitSearch.isVectorized()) {
+      long vectorNanos = measure("vector", () -> sum(buffers, DigitSearch.digitsAndWords()));
+      System.out.printf("vector speedup over regex: %.1fx%n", (double) regexNanos / vectorNanos);
+      System.out.printf("vector speedup over automaton: %.1fx%n",
+          (double) scalarNanos / vectorNanos);
+    } else {
+      System.out.println("vector: skipped (jdk.incubator.vector module not enabled)");
+    }
+  }
+
+  private static List<String> generateLines() {
+    Random rng = new Random(SEED);
+    return IntStream.range(0, LINE_COUNT)
+        .mapToObj((lineIndex) -> {
+          StringBuilder builder = new StringBuilder(LINE_LENGTH);
+          for (int i = 0; i < LINE_LENGTH; i++) {
+            builder.append(FILLER.charAt(rng.nextInt(FILLER.length())));
+          }
+          int first = rng.nextInt(LINE_LENGTH / 2);
+          int last = LINE_LENGTH / 2 + rng.nextInt(LINE_LENGTH / 2 - WORDS[7].length());
+          insert(builder, first, rng);
+          insert(builder, last, rng);
+          return builder.toString();
+        })
+        .toList();
+  }
+
+  private static void insert(StringBuilder builder, int position, Random rng) {
+    String digit = rng.nextBoolean()
+        ? WORDS[rng.nextInt(WORDS.length)]
+        : String.valueOf((char) ('0' + rng.nextInt(10)));
+    builder.replace(position, position + digit.length(), digit);
+  }
+
+  private static long sum(List<ByteBuffer> buffers, DigitSearch search) {
+    return buffers
+        .stream()
+        .mapToLong((line) -> 10L * search.first(line) + search.last(line))
+        .sum();
+  }
+
+  private static long regexCalibrationValue(String line) {
+    Matcher firstMatcher = FIRST_DIGIT_OR_WORD_EXTRACTOR.matcher(line);
+    Matcher lastMatcher = LAST_DIGIT_OR_WORD_EXTRACTOR.matcher(line);
+    if (!firstMatcher.matches() || !lastMatcher.matches()) {
+      throw new IllegalArgumentException();
+    }
+    return 10L * regexValue(firstMatcher) + regexValue(lastMatcher);
+  }
+
+  private static int regexValue(Matcher matcher) {
+    String digitCapture = matcher.group(2);
+    return (digitCapture != null)
+        ? digitCapture.charAt(0) - '0'
+        : DIGIT_WORDS.get(matcher.group(1));
+  }
+
+  private static long measure(String label, LongSupplier task) {
+    long result = 0;
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      result = task.getAsLong();
+    }
+    long start = System.nanoTime();
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      if (task.getAsLong() != result) {
+        throw new IllegalStateException();
+      }
+    }
+    long elapsed = (System.nanoTime() - start) / MEASURED_ROUNDS;
+    System.out.printf("%s: %.2f ms/round (sum = %d)%n", label, elapsed / 1e6, result);
+    return elapsed;
+  }
+
+}
@@ -17,7 +17,10 @@ package com.nickbenn.adventofcode.day01;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.nickbenn.adventofcode.view.DataSource;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
 class TrebuchetTest {
@@ -32,4 +35,35 @@ class TrebuchetTest {
     assertEquals(281, new Trebuchet("input2.txt").sumDigitWords());
   }
 
+  @Test
+  void sumBoth() throws IOException {
+    assertEquals(new Trebuchet.CalibrationSums(142, 142), new Trebuchet("input1.txt").sumBoth());
+  }
+
+  @Test
+  void sumDigitWords_scalar() throws IOException {
+    try (Stream<ByteBuffer> lines = new DataSource.Builder(Trebuchet.class)
+        .setInputFile("input2.txt")
+        .build()
+        .lineBuffers()) {
+      DigitSearch search = DigitScanner.DIGITS_AND_WORDS;
+      assertEquals(281,
+          lines.mapToInt((line) -> 10 * search.first(line) + search.last(line)).sum());
+    }
+  }
+
+  @Test
+  void digitSearch_withoutVectorModule() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      assertFalse(DigitSearch.isVectorized());
+      assertSame(DigitScanner.DIGITS_AND_WORDS, DigitSearch.digitsAndWords());
+    }
+  }
+
+  @Test
+  void sumBothParallel() throws IOException {
+    Trebuchet trebuchet = new Trebuchet();
+    assertEquals(trebuchet.sumBoth(), trebuchet.sumBothParallel());
+  }
+
 }
\ No newline at end of file
@@ -15,9 +15,13 @@
  */
 package com.nickbenn.adventofcode.day02;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +39,33 @@ class CubeConundrumTest {
     assertEquals(8, conundrum.sumFeasibleGames(CubeConundrum.CEILINGS));
   }
 
+  @Test
+  void sumFeasibleGames_batch() throws IOException {
+    long[] expected = {8, 15, 0};
+    assertArrayEquals(expected, conundrum.sumFeasibleGames(List.of(
+        CubeConundrum.CEILINGS,
+        Map.of(),
+        Map.of("red", 0, "green", 0, "blue", 0)
+    )));
+  }
+
+  @Test
+  void sumFeasibleGames_otherColors() throws IOException {
+    long[] expected = {15, 0, 0};
+    assertArrayEquals(expected, conundrum.sumFeasibleGames(List.of(
+        Map.of("yellow", 0),
+        Map.of("yellow", -1),
+        Map.of("red", 20, "green", -1)
+    )));
+    assertEquals(0, conundrum.sumFeasibleGames(Map.of("yellow", -1)));
+  }
+
+  @Test
+  void sumPower_unknownColor() {
+    CubeConundrum conundrum = new CubeConundrum("unknown-color.txt");
+    assertThrows(IllegalArgumentException.class, conundrum::sumPower);
+  }
+
   @Test
   void sumPower() throws IOException {
     assertEquals(2286, conundrum.sumPower());
@@ -32,4 +32,10 @@ class CosmicExpansionTest {
     assertEquals(expected, expansion.getShortestPathsSum());
   }
 
+  @Test
+  void getShortestPathsSums() throws IOException {
+    CosmicExpansion expansion = new CosmicExpansion();
+    assertArrayEquals(new long[]{374, 1030, 8410}, expansion.getShortestPathsSums(2, 10, 100));
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class DirectionMaskTest {
+
+  private static final int INSTANCE_COUNT = 1 << Byte.SIZE;
+  private static final int TRIAL_COUNT = 1_000;
+  private static final long SEED = 2023;
+
+  @Test
+  void of_contains() {
+    DirectionMask mask = DirectionMask.of(CardinalDirection.NORTH, CardinalDirection.WEST);
+    assertTrue(mask.contains(CardinalDirection.NORTH));
+    assertTrue(mask.contains(CardinalDirection.WEST));
+    assertFalse(mask.contains(CardinalDirection.EAST));
+    assertFalse(mask.contains(CardinalDirection.SOUTH));
+    assertEquals(0b1001, mask.bits());
+    assertEquals(2, mask.size());
+    assertTrue(DirectionMask.of().isEmpty());
+    assertSame(DirectionMask.NONE, DirectionMask.of());
+  }
+
+  @Test
+  void ofBits_shared() {
+    for (int bits = 0; bits < INSTANCE_COUNT; bits++) {
+      DirectionMask mask = DirectionMask.ofBits(bits);
+      assertEquals(bits, mask.bits());
+      assertEquals(Integer.bitCount(bits), mask.size());
+      assertSame(mask, DirectionMask.ofBits(bits));
+    }
+    assertSame(DirectionMask.ofBits(0b101), DirectionMask.of(
+        PrincipalDirection.NORTH, PrincipalDirection.EAST));
+  }
+
+  @Test
+  void ofBits_invalid() {
+    assertThrows(IllegalArgumentException.class, () -> DirectionMask.ofBits(INSTANCE_COUNT));
+    assertThrows(IllegalArgumentException.class, () -> DirectionMask.ofBits(-1));
+  }
+
+  @Test
+  void union_intersection_random() {
+    Random rng = new Random(SEED);
+    PrincipalDirection[] directions = PrincipalDirection.values();
+    for (int trial = 0; trial < TRIAL_COUNT; trial++) {
+      Set<PrincipalDirection> first = randomSet(rng, directions);
+      Set<PrincipalDirection> second = randomSet(rng, directions);
+      DirectionMask firstMask = mask(first);
+      DirectionMask secondMask = mask(second);
+      Set<PrincipalDirection> union = EnumSet.copyOf(first);
+      union.addAll(second);
+      Set<PrincipalDirection> intersection = EnumSet.copyOf(first);
+      intersection.retainAll(second);
+      assertSame(mask(union), firstMask.union(secondMask));
+      assertSame(mask(intersection), firstMask.intersection(secondMask));
+      for (PrincipalDirection direction : directions) {
+        assertEquals(first.contains(direction), firstMask.contains(direction));
+        assertTrue(firstMask.with(direction).contains(direction));
+        assertFalse(firstMask.without(direction).contains(direction));
+      }
+    }
+  }
+
+  @Test
+  void firstOrdinal_iterationOrder() {
+    DirectionMask mask = DirectionMask.of(PrincipalDirection.WEST, PrincipalDirection.NORTH_EAST,
+        PrincipalDirection.SOUTH);
+    List<PrincipalDirection> visited = new ArrayList<>();
+    for (DirectionMask remaining = mask; !remaining.isEmpty(); ) {
+      PrincipalDirection direction = PrincipalDirection.fromOrdinal(remaining.firstOrdinal());
+      visited.add(direction);
+      remaining = remaining.without(direction);
+    }
+    assertEquals(List.of(PrincipalDirection.NORTH_EAST, PrincipalDirection.SOUTH,
+        PrincipalDirection.WEST), visited);
+    assertEquals(-1, DirectionMask.NONE.firstOrdinal());
+  }
+
+  @Test
+  void equals_toString() {
+    DirectionMask mask = DirectionMask.of(CardinalDirection.EAST, CardinalDirection.SOUTH);
+    assertEquals(DirectionMask.ofBits(0b110), mask);
+    assertEquals(0b110, mask.hashCode());
+    assertEquals("DirectionMask[00000110]", mask.toString());
+  }
+
+  private static Set<PrincipalDirection> randomSet(Random rng, PrincipalDirection[] directions) {
+    Set<PrincipalDirection> set = EnumSet.noneOf(PrincipalDirection.class);
+    for (PrincipalDirection direction : directions) {
+      if (rng.nextBoolean()) {
+        set.add(direction);
+      }
+    }
+    return set;
+  }
+
+  private static DirectionMask mask(Set<PrincipalDirection> directions) {
+    return DirectionMask.of(directions.toArray(PrincipalDirection[]::new));
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class DirectionTest {
+
+  private static final double FULL_TURN = 360;
+
+  @ParameterizedTest
+  @MethodSource("directions")
+  void opposite_negatesOffsets(Direction direction) {
+    Direction opposite = direction.opposite();
+    assertEquals(-direction.rowOffset(), opposite.rowOffset());
+    assertEquals(-direction.columnOffset(), opposite.columnOffset());
+    assertSame(direction, opposite.opposite());
+  }
+
+  @ParameterizedTest
+  @MethodSource("cardinalDirections")
+  void nextClockwise_cardinal(Direction direction) {
+    Direction next = direction.nextClockwise();
+    assertEquals(direction.columnOffset(), next.rowOffset());
+    assertEquals(-direction.rowOffset(), next.columnOffset());
+    assertSame(direction, next.nextCounterClockwise());
+  }
+
+  @ParameterizedTest
+  @MethodSource("directions")
+  void nextClockwise_bearing(Direction direction) {
+    int count = (direction instanceof CardinalDirection)
+        ? CardinalDirection.values().length
+        : PrincipalDirection.values().length;
+    double step = FULL_TURN / count;
+    assertEquals(step, turn(direction, direction.nextClockwise()), 1e-9);
+    assertEquals(FULL_TURN - step, turn(direction, direction.nextCounterClockwise()), 1e-9);
+    assertSame(direction, direction.nextClockwise().nextCounterClockwise());
+  }
+
+  @ParameterizedTest
+  @MethodSource("directions")
+  void fromOrdinal(Direction direction) {
+    Direction expected = (direction instanceof CardinalDirection)
+        ? CardinalDirection.fromOrdinal(direction.ordinal())
+        : PrincipalDirection.fromOrdinal(direction.ordinal());
+    assertSame(expected, direction);
+  }
+
+  static Stream<Direction> cardinalDirections() {
+    return CardinalDirection.stream();
+  }
+
+  static Stream<Direction> directions() {
+    return Stream.concat(CardinalDirection.stream(), PrincipalDirection.stream());
+  }
+
+  private static double turn(Direction from, Direction to) {
+    double turn = bearing(to) - bearing(from);
+    return (turn < 0) ? turn + FULL_TURN : turn;
+  }
+
+  private static double bearing(Direction direction) {
+    return Math.toDegrees(Math.atan2(direction.columnOffset(), -direction.rowOffset()));
+  }
+
+}
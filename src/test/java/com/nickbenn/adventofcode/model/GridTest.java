@@ -0,0 +1,186 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class GridTest {
+
+  private static final int HEIGHT = 3;
+  private static final int WIDTH = 5;
+  private static final int BORDER = 2;
+  private static final byte SENTINEL = '#';
+
+  @Test
+  void transposed_involution() {
+    ByteGrid grid = grid();
+    assertSameCells(grid, grid.transposed().transposed());
+  }
+
+  @Test
+  void rotatedClockwise_fourTimes() {
+    ByteGrid grid = grid();
+    assertSameCells(grid,
+        grid.rotatedClockwise().rotatedClockwise().rotatedClockwise().rotatedClockwise());
+    assertSameCells(grid, grid.rotatedCounterclockwise().rotatedCounterclockwise()
+        .rotatedCounterclockwise().rotatedCounterclockwise());
+    assertSameCells(grid, grid.rotatedClockwise().rotatedCounterclockwise());
+    assertSameCells(grid.rotatedClockwise().rotatedClockwise(),
+        grid.rotatedCounterclockwise().rotatedCounterclockwise());
+  }
+
+  @Test
+  void views_mapping() {
+    ByteGrid grid = grid();
+    ByteGrid transposed = grid.transposed();
+    ByteGrid clockwise = grid.rotatedClockwise();
+    ByteGrid counterclockwise = grid.rotatedCounterclockwise();
+    for (ByteGrid view : List.of(transposed, clockwise, counterclockwise)) {
+      assertEquals(WIDTH, view.height());
+      assertEquals(HEIGHT, view.width());
+    }
+    for (int row = 0; row < WIDTH; row++) {
+      for (int column = 0; column < HEIGHT; column++) {
+        assertEquals(grid.get(column, row), transposed.get(row, column));
+        assertEquals(grid.get(HEIGHT - 1 - column, row), clockwise.get(row, column));
+        assertEquals(grid.get(column, WIDTH - 1 - row), counterclockwise.get(row, column));
+      }
+    }
+    assertEquals("kfa\nlgb\nmhc\nnid\noje\n", clockwise.toString());
+  }
+
+  @Test
+  void index_roundTrip() {
+    for (Grid grid : views(grid())) {
+      for (int row = -grid.border(); row < grid.height() + grid.border(); row++) {
+        for (int column = -grid.border(); column < grid.width() + grid.border(); column++) {
+          int index = grid.index(row, column);
+          assertTrue(index >= 0 && index < grid.length());
+          assertEquals(row, grid.row(index));
+          assertEquals(column, grid.column(index));
+          assertEquals(index, grid.index(new MatrixLocation(row, column)));
+        }
+      }
+    }
+  }
+
+  @Test
+  void border_sentinel() {
+    for (ByteGrid grid : views(grid())) {
+      for (int row = -BORDER; row < grid.height() + BORDER; row++) {
+        for (int column = -BORDER; column < grid.width() + BORDER; column++) {
+          assertEquals(!grid.isInBounds(row, column), grid.get(row, column) == SENTINEL);
+        }
+      }
+    }
+  }
+
+  @Test
+  void offsets_neighbors() {
+    PrincipalDirection[] directions = PrincipalDirection.values();
+    for (Grid grid : views(grid())) {
+      int[] offsets = grid.offsets(directions);
+      for (int row = 0; row < grid.height(); row++) {
+        for (int column = 0; column < grid.width(); column++) {
+          int index = grid.index(row, column);
+          for (PrincipalDirection direction : directions) {
+            int expected =
+                grid.index(row + direction.rowOffset(), column + direction.columnOffset());
+            assertEquals(expected, grid.neighbor(index, direction));
+            assertEquals(expected, index + offsets[direction.ordinal()]);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void rowView_columnView() {
+    ByteGrid grid = grid();
+    assertEquals("fghij", grid.rowView(1).toString());
+    assertEquals("bgl", grid.columnView(1).toString());
+    assertEquals("gh", grid.rowView(1).subSequence(1, 3).toString());
+    assertEquals("bgl", grid.transposed().rowView(1).toString());
+    assertEquals("lgb", grid.rotatedClockwise().rowView(1).toString());
+    grid.transposed().set(1, 0, (byte) 'B');
+    assertEquals("aBcde", grid.rowView(0).toString());
+  }
+
+  @Test
+  void intGrid_of() {
+    ByteGrid bytes = grid();
+    IntGrid ints = IntGrid.of(bytes);
+    List<ByteGrid> byteViews = views(bytes);
+    List<IntGrid> intViews = List.of(ints, ints.transposed(), ints.rotatedClockwise(),
+        ints.rotatedCounterclockwise(), ints.rotatedClockwise().transposed());
+    for (int i = 0; i < byteViews.size(); i++) {
+      ByteGrid byteView = byteViews.get(i);
+      IntGrid intView = intViews.get(i);
+      assertSameCells(byteView, intView);
+      for (int row = -BORDER; row < byteView.height() + BORDER; row++) {
+        for (int column = -BORDER; column < byteView.width() + BORDER; column++) {
+          assertEquals(byteView.get(row, column), intView.get(row, column));
+        }
+      }
+    }
+    assertArrayEquals("fghij".chars().toArray(), ints.rowValues(1).toArray());
+    assertArrayEquals("bgl".chars().toArray(), ints.columnValues(1).toArray());
+  }
+
+  @Test
+  void isInBounds() {
+    ByteGrid grid = grid();
+    assertTrue(grid.isInBounds(0, 0));
+    assertTrue(grid.isInBounds(HEIGHT - 1, WIDTH - 1));
+    assertFalse(grid.isInBounds(-1, 0));
+    assertFalse(grid.isInBounds(0, WIDTH));
+  }
+
+  private static ByteGrid grid() {
+    ByteGrid grid = new ByteGrid(HEIGHT, WIDTH, BORDER, SENTINEL);
+    for (int row = 0; row < HEIGHT; row++) {
+      for (int column = 0; column < WIDTH; column++) {
+        grid.set(row, column, (byte) ('a' + row * WIDTH + column));
+      }
+    }
+    return grid;
+  }
+
+  private static List<ByteGrid> views(ByteGrid grid) {
+    return List.of(grid, grid.transposed(), grid.rotatedClockwise(),
+        grid.rotatedCounterclockwise(), grid.rotatedClockwise().transposed());
+  }
+
+  private static void assertSameCells(Grid expected, Grid actual) {
+    assertEquals(expected.height(), actual.height());
+    assertEquals(expected.width(), actual.width());
+    assertEquals(expected.rowStride(), actual.rowStride());
+    assertEquals(expected.columnStride(), actual.columnStride());
+    for (int row = -expected.border(); row < expected.height() + expected.border(); row++) {
+      for (int column = -expected.border(); column < expected.width() + expected.border();
+          column++) {
+        assertEquals(expected.index(row, column), actual.index(row, column));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,169 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LocationMapTest {
+
+  private static final int DEFAULT_MASK = 31;
+  private static final int COLLISION_COUNT = 4;
+  private static final int RESIZE_COUNT = 10_000;
+  private static final int OPERATION_COUNT = 200_000;
+  private static final int KEY_RANGE = 64;
+  private static final long SEED = 2023;
+
+  @Test
+  void put_get() {
+    LocationMap<String> map = new LocationMap<>();
+    long location = PackedLocation.pack(3, -7);
+    assertNull(map.put(location, "a"));
+    assertEquals("a", map.put(location, "b"));
+    assertEquals("b", map.get(location));
+    assertEquals(1, map.size());
+    assertNull(map.get(PackedLocation.pack(-7, 3)));
+    assertFalse(map.containsKey(PackedLocation.pack(-7, 3)));
+  }
+
+  @Test
+  void put_nullValue() {
+    LocationMap<String> map = new LocationMap<>();
+    long location = PackedLocation.pack(1, 1);
+    map.put(location, null);
+    assertTrue(map.containsKey(location));
+    assertEquals("x", map.getOrDefault(PackedLocation.pack(2, 2), "x"));
+    assertNull(map.getOrDefault(location, "x"));
+  }
+
+  @Test
+  void put_emptySentinel() {
+    LocationMap<String> map = new LocationMap<>();
+    assertFalse(map.containsKey(Long.MIN_VALUE));
+    map.put(Long.MIN_VALUE, "min");
+    assertTrue(map.containsKey(Long.MIN_VALUE));
+    assertEquals("min", map.get(Long.MIN_VALUE));
+    assertEquals(1, map.size());
+    assertEquals("min", map.remove(Long.MIN_VALUE));
+    assertFalse(map.containsKey(Long.MIN_VALUE));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void remove_reprobe() {
+    long[] colliding = colliding(0);
+    for (int removed = 0; removed < colliding.length; removed++) {
+      LocationMap<Long> map = new LocationMap<>();
+      for (long location : colliding) {
+        map.put(location, location);
+      }
+      assertEquals(colliding[removed], map.remove(colliding[removed]));
+      assertNull(map.remove(colliding[removed]));
+      for (int i = 0; i < colliding.length; i++) {
+        assertEquals((i != removed) ? Long.valueOf(colliding[i]) : null, map.get(colliding[i]));
+      }
+      assertEquals(colliding.length - 1, map.size());
+    }
+  }
+
+  @Test
+  void remove_reprobeWrapped() {
+    long[] colliding = colliding(DEFAULT_MASK);
+    LocationMap<Long> map = new LocationMap<>();
+    long neighbor = colliding(0)[0];
+    map.put(neighbor, neighbor);
+    for (long location : colliding) {
+      map.put(location, location);
+    }
+    for (int i = 0; i < colliding.length - 1; i++) {
+      map.remove(colliding[i]);
+      for (int j = i + 1; j < colliding.length; j++) {
+        assertEquals(colliding[j], map.get(colliding[j]));
+      }
+      assertEquals(neighbor, map.get(neighbor));
+    }
+  }
+
+  @Test
+  void put_resize() {
+    LocationMap<Integer> map = new LocationMap<>(0);
+    for (int i = 0; i < RESIZE_COUNT; i++) {
+      map.put(PackedLocation.pack(i, -i), i);
+    }
+    assertEquals(RESIZE_COUNT, map.size());
+    for (int i = 0; i < RESIZE_COUNT; i++) {
+      assertEquals(i, map.get(PackedLocation.pack(i, -i)));
+    }
+    Map<Long, Integer> visited = new HashMap<>();
+    map.forEach(visited::put);
+    assertEquals(RESIZE_COUNT, visited.size());
+  }
+
+  @Test
+  void randomWorkload() {
+    Random rng = new Random(SEED);
+    LocationMap<Integer> map = new LocationMap<>(0);
+    Map<Long, Integer> expected = new HashMap<>();
+    for (int i = 0; i < OPERATION_COUNT; i++) {
+      long location = (rng.nextInt(KEY_RANGE) == 0)
+          ? Long.MIN_VALUE
+          : PackedLocation.pack(rng.nextInt(KEY_RANGE) - KEY_RANGE / 2, rng.nextInt(KEY_RANGE));
+      if (rng.nextBoolean()) {
+        assertEquals(expected.put(location, i), map.put(location, i));
+      } else {
+        assertEquals(expected.remove(location), map.remove(location));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+    Map<Long, Integer> actual = new HashMap<>();
+    map.forEach(actual::put);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void clear() {
+    LocationMap<Integer> map = new LocationMap<>();
+    map.put(PackedLocation.pack(0, 0), 0);
+    map.put(Long.MIN_VALUE, 1);
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertFalse(map.containsKey(PackedLocation.pack(0, 0)));
+    assertFalse(map.containsKey(Long.MIN_VALUE));
+  }
+
+  private static long[] colliding(int home) {
+    long[] locations = new long[COLLISION_COUNT];
+    int count = 0;
+    for (int row = 0; count < COLLISION_COUNT; row++) {
+      long location = PackedLocation.pack(row, row);
+      if ((LocationHashing.hash(location) & DEFAULT_MASK) == home) {
+        locations[count++] = location;
+      }
+    }
+    return locations;
+  }
+
+}
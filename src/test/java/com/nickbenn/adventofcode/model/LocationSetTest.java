@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class LocationSetTest {
+
+  private static final int DEFAULT_MASK = 31;
+  private static final int COLLISION_COUNT = 4;
+  private static final int RESIZE_COUNT = 10_000;
+  private static final int OPERATION_COUNT = 200_000;
+  private static final int KEY_RANGE = 64;
+  private static final long SEED = 2023;
+
+  @Test
+  void add_contains() {
+    LocationSet set = new LocationSet();
+    long location = PackedLocation.pack(3, -7);
+    assertTrue(set.add(location));
+    assertFalse(set.add(location));
+    assertTrue(set.contains(location));
+    assertFalse(set.contains(PackedLocation.pack(-7, 3)));
+    assertEquals(1, set.size());
+  }
+
+  @Test
+  void add_emptySentinel() {
+    LocationSet set = new LocationSet();
+    assertFalse(set.contains(Long.MIN_VALUE));
+    assertTrue(set.add(Long.MIN_VALUE));
+    assertFalse(set.add(Long.MIN_VALUE));
+    assertTrue(set.contains(Long.MIN_VALUE));
+    assertEquals(1, set.size());
+    assertTrue(set.remove(Long.MIN_VALUE));
+    assertFalse(set.remove(Long.MIN_VALUE));
+    assertTrue(set.isEmpty());
+  }
+
+  @Test
+  void remove_reprobe() {
+    long[] colliding = colliding(0);
+    for (int removed = 0; removed < colliding.length; removed++) {
+      LocationSet set = new LocationSet();
+      for (long location : colliding) {
+        set.add(location);
+      }
+      assertTrue(set.remove(colliding[removed]));
+      assertFalse(set.remove(colliding[removed]));
+      for (int i = 0; i < colliding.length; i++) {
+        assertEquals(i != removed, set.contains(colliding[i]));
+      }
+      assertEquals(colliding.length - 1, set.size());
+    }
+  }
+
+  @Test
+  void remove_reprobeWrapped() {
+    long[] colliding = colliding(DEFAULT_MASK);
+    LocationSet set = new LocationSet();
+    long neighbor = colliding(0)[0];
+    set.add(neighbor);
+    for (long location : colliding) {
+      set.add(location);
+    }
+    for (int i = 0; i < colliding.length - 1; i++) {
+      set.remove(colliding[i]);
+      for (int j = i + 1; j < colliding.length; j++) {
+        assertTrue(set.contains(colliding[j]));
+      }
+      assertTrue(set.contains(neighbor));
+    }
+  }
+
+  @Test
+  void add_resize() {
+    LocationSet set = new LocationSet(0);
+    for (int i = 0; i < RESIZE_COUNT; i++) {
+      set.add(PackedLocation.pack(i, -i));
+    }
+    assertEquals(RESIZE_COUNT, set.size());
+    for (int i = 0; i < RESIZE_COUNT; i++) {
+      assertTrue(set.contains(PackedLocation.pack(i, -i)));
+    }
+  }
+
+  @Test
+  void randomWorkload() {
+    Random rng = new Random(SEED);
+    LocationSet set = new LocationSet(0);
+    Set<Long> expected = new HashSet<>();
+    for (int i = 0; i < OPERATION_COUNT; i++) {
+      long location = (rng.nextInt(KEY_RANGE) == 0)
+          ? Long.MIN_VALUE
+          : PackedLocation.pack(rng.nextInt(KEY_RANGE) - KEY_RANGE / 2, rng.nextInt(KEY_RANGE));
+      if (rng.nextBoolean()) {
+        assertEquals(expected.add(location), set.add(location));
+      } else {
+        assertEquals(expected.remove(location), set.remove(location));
+      }
+      assertEquals(expected.size(), set.size());
+    }
+    long[] sorted = expected
+        .stream()
+        .mapToLong(Long::longValue)
+        .sorted()
+        .toArray();
+    assertArrayEquals(sorted, set.toSortedArray());
+  }
+
+  @Test
+  void clear() {
+    LocationSet set = new LocationSet();
+    set.add(PackedLocation.pack(0, 0));
+    set.add(Long.MIN_VALUE);
+    set.clear();
+    assertTrue(set.isEmpty());
+    assertFalse(set.contains(PackedLocation.pack(0, 0)));
+    assertFalse(set.contains(Long.MIN_VALUE));
+  }
+
+  private static long[] colliding(int home) {
+    long[] locations = new long[COLLISION_COUNT];
+    int count = 0;
+    for (int row = 0; count < COLLISION_COUNT; row++) {
+      long location = PackedLocation.pack(row, row);
+      if ((LocationHashing.hash(location) & DEFAULT_MASK) == home) {
+        locations[count++] = location;
+      }
+    }
+    return locations;
+  }
+
+}
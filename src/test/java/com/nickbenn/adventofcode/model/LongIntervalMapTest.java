@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongIntervalMapTest {
+
+  private static final int DOMAIN_SIZE = 64;
+  private static final int MAX_SEGMENTS = 4;
+  private static final int MAX_OFFSET = 20;
+  private static final int TRIAL_COUNT = 1_000;
+  private static final long SEED = 2023;
+
+  @Test
+  void apply() {
+    LongIntervalMap map = new LongIntervalMap.Builder()
+        .put(98, 50, 2)
+        .put(50, 52, 48)
+        .build();
+    assertEquals(0, map.apply(0));
+    assertEquals(49, map.apply(49));
+    assertEquals(52, map.apply(50));
+    assertEquals(99, map.apply(97));
+    assertEquals(50, map.apply(98));
+    assertEquals(51, map.apply(99));
+    assertEquals(100, map.apply(100));
+  }
+
+  @Test
+  void build_merged() {
+    LongIntervalMap map = new LongIntervalMap.Builder()
+        .put(LongRange.between(20, 30), 100)
+        .put(LongRange.between(10, 20), 100)
+        .put(LongRange.between(30, 40), 0)
+        .put(LongRange.between(40, 40), 7)
+        .put(LongRange.between(40, 50), 100)
+        .build();
+    assertEquals(2, map.size());
+    assertEquals(LongRange.between(10, 30), map.source(0));
+    assertEquals(100, map.offset(0));
+    assertEquals(LongRange.between(40, 50), map.source(1));
+    assertEquals("{10..29=+100, 40..49=+100}", map.toString());
+  }
+
+  @Test
+  void build_identity() {
+    assertSame(LongIntervalMap.IDENTITY,
+        new LongIntervalMap.Builder().put(LongRange.between(0, 10), 0).build());
+  }
+
+  @Test
+  void build_overlap() {
+    LongIntervalMap.Builder builder = new LongIntervalMap.Builder()
+        .put(LongRange.between(10, 20), 1)
+        .put(LongRange.between(19, 25), 2);
+    assertThrows(IllegalArgumentException.class, builder::build);
+  }
+
+  @Test
+  void image_identityGaps() {
+    LongIntervalMap map = new LongIntervalMap.Builder()
+        .put(LongRange.between(10, 20), 100)
+        .put(LongRange.between(30, 40), -30)
+        .build();
+    assertEquals(
+        LongIntervalSet.of(
+            LongRange.between(0, 5),
+            LongRange.between(5, 10),
+            LongRange.between(110, 120),
+            LongRange.between(20, 30)
+        ),
+        map.image(LongRange.between(5, 35)));
+    assertEquals(LongIntervalSet.of(LongRange.between(0, 10)),
+        map.image(LongRange.between(30, 40)));
+  }
+
+  @Test
+  void andThen_identityGaps() {
+    LongIntervalMap first = new LongIntervalMap.Builder()
+        .put(LongRange.between(0, 10), 5)
+        .build();
+    LongIntervalMap second = new LongIntervalMap.Builder()
+        .put(LongRange.between(12, 20), -12)
+        .put(LongRange.between(-5, 0), 40)
+        .build();
+    LongIntervalMap composed = first.andThen(second);
+    for (long value = -20; value < 40; value++) {
+      assertEquals(second.apply(first.apply(value)), composed.apply(value));
+    }
+    LongIntervalMap inverse = new LongIntervalMap.Builder()
+        .put(LongRange.between(5, 15), -5)
+        .build();
+    assertEquals(new LongIntervalMap.Builder().put(LongRange.between(10, 15), -5).build(),
+        first.andThen(inverse));
+  }
+
+  @Test
+  void andThen_extremes() {
+    LongIntervalMap first = new LongIntervalMap.Builder()
+        .put(LongRange.between(Long.MIN_VALUE, Long.MIN_VALUE + 10), 10)
+        .put(LongRange.between(Long.MAX_VALUE - 10, Long.MAX_VALUE), -10)
+        .build();
+    LongIntervalMap second = new LongIntervalMap.Builder()
+        .put(LongRange.between(Long.MIN_VALUE + 5, Long.MIN_VALUE + 15), 1)
+        .build();
+    LongIntervalMap composed = first.andThen(second);
+    long[] probes = {Long.MIN_VALUE, Long.MIN_VALUE + 4, Long.MIN_VALUE + 5, Long.MIN_VALUE + 9,
+        Long.MIN_VALUE + 10, Long.MIN_VALUE + 14, Long.MIN_VALUE + 15, 0, Long.MAX_VALUE - 11,
+        Long.MAX_VALUE - 10, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+    for (long value : probes) {
+      assertEquals(second.apply(first.apply(value)), composed.apply(value));
+    }
+    assertEquals(Long.MAX_VALUE, composed.apply(Long.MAX_VALUE));
+  }
+
+  @Test
+  void compose_random() {
+    Random rng = new Random(SEED);
+    for (int trial = 0; trial < TRIAL_COUNT; trial++) {
+      LongIntervalMap first = randomMap(rng);
+      LongIntervalMap second = randomMap(rng);
+      LongIntervalMap composed = first.andThen(second);
+      boolean[] included = new boolean[DOMAIN_SIZE];
+      LongIntervalSet set = LongIntervalSetTest.randomSet(rng, included);
+      List<LongRange> expected = new ArrayList<>();
+      for (int value = 0; value < DOMAIN_SIZE; value++) {
+        assertEquals(second.apply(first.apply(value)), composed.apply(value));
+        if (included[value]) {
+          expected.add(new LongRange(first.apply(value), 1));
+        }
+      }
+      assertEquals(LongIntervalSet.of(expected), first.image(set));
+    }
+  }
+
+  private static LongIntervalMap randomMap(Random rng) {
+    LongIntervalMap.Builder builder = new LongIntervalMap.Builder();
+    int start = 0;
+    for (int i = rng.nextInt(MAX_SEGMENTS + 1); i > 0 && start < DOMAIN_SIZE; i--) {
+      int segmentStart = start + rng.nextInt(DOMAIN_SIZE - start);
+      int segmentEnd = segmentStart + rng.nextInt(DOMAIN_SIZE - segmentStart + 1);
+      builder.put(LongRange.between(segmentStart, segmentEnd),
+          rng.nextInt(2 * MAX_OFFSET + 1) - MAX_OFFSET);
+      start = segmentEnd;
+    }
+    return builder.build();
+  }
+
+}
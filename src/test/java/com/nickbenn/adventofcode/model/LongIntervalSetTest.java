@@ -0,0 +1,156 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongIntervalSetTest {
+
+  private static final int DOMAIN_SIZE = 64;
+  private static final int MAX_RANGES = 6;
+  private static final int TRIAL_COUNT = 1_000;
+  private static final long SEED = 2023;
+
+  @Test
+  void of_normalized() {
+    LongIntervalSet set = LongIntervalSet.of(
+        LongRange.between(20, 25),
+        LongRange.between(0, 5),
+        LongRange.between(3, 8),
+        LongRange.between(8, 10),
+        LongRange.between(12, 12),
+        LongRange.between(21, 23)
+    );
+    assertEquals(List.of(LongRange.between(0, 10), LongRange.between(20, 25)), set.ranges());
+    assertEquals(2, set.size());
+    assertEquals(15, set.count());
+    assertEquals(0, set.min());
+    assertEquals(24, set.max());
+    assertEquals("[0..9, 20..24]", set.toString());
+  }
+
+  @Test
+  void of_empty() {
+    assertSame(LongIntervalSet.EMPTY, LongIntervalSet.of(LongRange.between(5, 5)));
+    assertTrue(LongIntervalSet.EMPTY.isEmpty());
+    assertThrows(NoSuchElementException.class, LongIntervalSet.EMPTY::min);
+    assertThrows(NoSuchElementException.class, LongIntervalSet.EMPTY::max);
+    assertThrows(IndexOutOfBoundsException.class, () -> LongIntervalSet.EMPTY.range(0));
+  }
+
+  @Test
+  void contains_bounds() {
+    LongIntervalSet set = LongIntervalSet.of(LongRange.between(-5, 0), LongRange.between(10, 11));
+    assertFalse(set.contains(-6));
+    assertTrue(set.contains(-5));
+    assertTrue(set.contains(-1));
+    assertFalse(set.contains(0));
+    assertFalse(set.contains(9));
+    assertTrue(set.contains(10));
+    assertFalse(set.contains(11));
+  }
+
+  @Test
+  void union_adjacent() {
+    LongIntervalSet a = LongIntervalSet.of(LongRange.between(0, 5), LongRange.between(10, 15));
+    LongIntervalSet b = LongIntervalSet.of(LongRange.between(5, 10));
+    assertEquals(LongIntervalSet.of(LongRange.between(0, 15)), a.union(b));
+    assertEquals(a.union(b), b.union(a));
+    assertSame(LongIntervalSet.EMPTY, a.intersection(b));
+    assertEquals(a, a.subtract(b));
+    assertSame(LongIntervalSet.EMPTY, b.subtract(a.union(b)));
+  }
+
+  @Test
+  void combine_extremes() {
+    LongIntervalSet low = LongIntervalSet.of(LongRange.between(Long.MIN_VALUE, -1));
+    LongIntervalSet high = LongIntervalSet.of(LongRange.between(0, Long.MAX_VALUE));
+    LongIntervalSet all = low.union(high).union(LongIntervalSet.of(new LongRange(-1, 1)));
+    assertEquals(1, all.size());
+    assertEquals(Long.MIN_VALUE, all.min());
+    assertEquals(Long.MAX_VALUE - 1, all.max());
+    assertTrue(all.contains(Long.MIN_VALUE));
+    assertTrue(all.contains(Long.MAX_VALUE - 1));
+    assertFalse(all.contains(Long.MAX_VALUE));
+    assertEquals(low.union(LongIntervalSet.of(new LongRange(-1, 1))), all.subtract(high));
+    LongIntervalSet edges = LongIntervalSet.of(
+        LongRange.between(Long.MIN_VALUE, Long.MIN_VALUE + 2),
+        LongRange.between(Long.MAX_VALUE - 2, Long.MAX_VALUE)
+    );
+    assertEquals(4, edges.count());
+    assertEquals(LongIntervalSet.of(LongRange.between(Long.MIN_VALUE, Long.MIN_VALUE + 2)),
+        edges.intersection(low));
+    assertEquals(LongIntervalSet.of(LongRange.between(Long.MAX_VALUE - 2, Long.MAX_VALUE)),
+        edges.intersection(high));
+  }
+
+  @Test
+  void combine_random() {
+    Random rng = new Random(SEED);
+    for (int trial = 0; trial < TRIAL_COUNT; trial++) {
+      boolean[] inA = new boolean[DOMAIN_SIZE];
+      boolean[] inB = new boolean[DOMAIN_SIZE];
+      LongIntervalSet a = randomSet(rng, inA);
+      LongIntervalSet b = randomSet(rng, inB);
+      LongIntervalSet union = a.union(b);
+      LongIntervalSet intersection = a.intersection(b);
+      LongIntervalSet difference = a.subtract(b);
+      for (int value = 0; value < DOMAIN_SIZE; value++) {
+        assertEquals(inA[value], a.contains(value));
+        assertEquals(inA[value] || inB[value], union.contains(value));
+        assertEquals(inA[value] && inB[value], intersection.contains(value));
+        assertEquals(inA[value] && !inB[value], difference.contains(value));
+      }
+      assertNormalized(union);
+      assertNormalized(intersection);
+      assertNormalized(difference);
+    }
+  }
+
+  static LongIntervalSet randomSet(Random rng, boolean[] included) {
+    List<LongRange> ranges = new ArrayList<>();
+    for (int i = rng.nextInt(MAX_RANGES); i > 0; i--) {
+      int start = rng.nextInt(included.length);
+      int end = start + rng.nextInt(included.length - start + 1);
+      ranges.add(LongRange.between(start, end));
+      for (int value = start; value < end; value++) {
+        included[value] = true;
+      }
+    }
+    return LongIntervalSet.of(ranges);
+  }
+
+  private static void assertNormalized(LongIntervalSet set) {
+    List<LongRange> ranges = set.ranges();
+    for (int i = 0; i < ranges.size(); i++) {
+      assertFalse(ranges.get(i).isEmpty());
+      if (i > 0) {
+        assertTrue(ranges.get(i - 1).end() < ranges.get(i).start());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PackedLocationTest {
+
+  private static final int TRIAL_COUNT = 10_000;
+  private static final long SEED = 2023;
+  private static final int[] EXTREMES = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+
+  @Test
+  void pack_roundTrip() {
+    for (int row : EXTREMES) {
+      for (int column : EXTREMES) {
+        MatrixLocation location = new MatrixLocation(row, column);
+        long packed = PackedLocation.pack(row, column);
+        assertEquals(row, PackedLocation.row(packed));
+        assertEquals(column, PackedLocation.column(packed));
+        assertEquals(packed, location.pack());
+        assertEquals(location, PackedLocation.unpack(packed));
+        assertEquals(location, MatrixLocation.unpack(packed));
+      }
+    }
+  }
+
+  @Test
+  void compare_rowMajor() {
+    for (int rowA : EXTREMES) {
+      for (int columnA : EXTREMES) {
+        for (int rowB : EXTREMES) {
+          for (int columnB : EXTREMES) {
+            MatrixLocation a = new MatrixLocation(rowA, columnA);
+            MatrixLocation b = new MatrixLocation(rowB, columnB);
+            assertEquals(Integer.signum(a.compareTo(b)),
+                Integer.signum(PackedLocation.compare(a.pack(), b.pack())));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void move_manhattanDistance() {
+    Random rng = new Random(SEED);
+    for (int trial = 0; trial < TRIAL_COUNT; trial++) {
+      MatrixLocation from = new MatrixLocation(rng.nextInt(2001) - 1000, rng.nextInt(2001) - 1000);
+      MatrixLocation to = new MatrixLocation(rng.nextInt(2001) - 1000, rng.nextInt(2001) - 1000);
+      assertEquals(from.manhattanDistance(to),
+          PackedLocation.manhattanDistance(from.pack(), to.pack()));
+      assertEquals(to.pack(),
+          PackedLocation.move(from.pack(), to.row() - from.row(), to.column() - from.column()));
+    }
+    long origin = PackedLocation.pack(0, 0);
+    for (CardinalDirection direction : CardinalDirection.values()) {
+      long moved = PackedLocation.move(origin, direction);
+      assertEquals(direction.rowOffset(), PackedLocation.row(moved));
+      assertEquals(direction.columnOffset(), PackedLocation.column(moved));
+    }
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PairwiseDistancesTest {
+
+  private static final int TRIAL_COUNT = 200;
+  private static final int MAX_POINTS = 60;
+  private static final int COORDINATE_RANGE = 1_000;
+  private static final long SEED = 2023;
+
+  @Test
+  void sumManhattanDistances_random() {
+    Random rng = new Random(SEED);
+    for (int trial = 0; trial < TRIAL_COUNT; trial++) {
+      List<MatrixLocation> points = new ArrayList<>();
+      for (int i = rng.nextInt(MAX_POINTS + 1); i > 0; i--) {
+        points.add(new MatrixLocation(rng.nextInt(2 * COORDINATE_RANGE) - COORDINATE_RANGE,
+            rng.nextInt(2 * COORDINATE_RANGE) - COORDINATE_RANGE));
+      }
+      long[] packed = points
+          .stream()
+          .mapToLong(PackedLocation::pack)
+          .toArray();
+      long expected = bruteForce(points);
+      assertEquals(expected, PairwiseDistances.sumManhattanDistances(points));
+      assertEquals(expected, PairwiseDistances.sumManhattanDistances(packed));
+    }
+  }
+
+  @Test
+  void sumManhattanDistances_degenerate() {
+    assertEquals(0, PairwiseDistances.sumManhattanDistances(List.of()));
+    assertEquals(0, PairwiseDistances.sumManhattanDistances(List.of(new MatrixLocation(3, 4))));
+    assertEquals(0, PairwiseDistances.sumManhattanDistances(new long[]{
+        PackedLocation.pack(5, 5), PackedLocation.pack(5, 5)}));
+  }
+
+  @Test
+  void sumAbsoluteDifferences_random() {
+    Random rng = new Random(SEED);
+    for (int trial = 0; trial < TRIAL_COUNT; trial++) {
+      int[] values = rng.ints(rng.nextInt(MAX_POINTS + 1)).toArray();
+      long[] longValues = rng.longs(values.length, -(1L << 40), 1L << 40).toArray();
+      int[] original = values.clone();
+      long expected = 0;
+      long expectedLong = 0;
+      for (int i = 0; i < values.length; i++) {
+        for (int j = i + 1; j < values.length; j++) {
+          expected += Math.abs((long) values[i] - values[j]);
+          expectedLong += Math.abs(longValues[i] - longValues[j]);
+        }
+      }
+      assertEquals(expected, PairwiseDistances.sumAbsoluteDifferences(values));
+      assertEquals(expectedLong, PairwiseDistances.sumAbsoluteDifferences(longValues));
+      assertArrayEquals(original, values);
+    }
+  }
+
+  @Test
+  void sumAbsoluteDifferences_overflow() {
+    long[] values = {Long.MIN_VALUE / 2, Long.MAX_VALUE / 2, Long.MAX_VALUE};
+    assertThrows(ArithmeticException.class,
+        () -> PairwiseDistances.sumAbsoluteDifferences(values));
+  }
+
+  private static long bruteForce(List<MatrixLocation> points) {
+    long sum = 0;
+    for (int i = 0; i < points.size(); i++) {
+      for (int j = i + 1; j < points.size(); j++) {
+        sum += points.get(i).manhattanDistance(points.get(j));
+      }
+    }
+    return sum;
+  }
+
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RectangleIndexTest {
+
+  private static final int BUCKET_SIZE = 8;
+  private static final int ENTRY_COUNT = 500;
+  private static final int QUERY_COUNT = 2_000;
+  private static final int COORDINATE_RANGE = 100;
+  private static final int MAX_EXTENT = 3 * BUCKET_SIZE;
+  private static final long SEED = 2023;
+
+  @Test
+  void intersecting_spanningBuckets() {
+    RectangleIndex<String> index = new RectangleIndex<>(BUCKET_SIZE);
+    index.add(new IntRectangle(-20, -20, 40, 40), "large");
+    index.add(new IntRectangle(3, 3, 2, 2), "small");
+    List<String> result = index.intersecting(new IntRectangle(-10, -10, 20, 20));
+    result.sort(null);
+    assertEquals(List.of("large", "small"), result);
+    assertEquals(List.of("large"), index.intersecting(new IntRectangle(-17, 12, 1, 1)));
+  }
+
+  @Test
+  void intersecting_dedupTopLeft() {
+    RectangleIndex<String> index = new RectangleIndex<>(BUCKET_SIZE);
+    index.add(new IntRectangle(-5, -5, 10, 10), "a");
+    // Query overlaps all four buckets occupied by the entry, with an intersection whose top-left
+    // cell lies in a different bucket from that of either rectangle's own top-left cell.
+    assertEquals(List.of("a"), index.intersecting(new IntRectangle(2, -20, 3, 40)));
+    assertEquals(List.of("a"), index.intersecting(new IntRectangle(-20, 2, 40, 3)));
+    assertEquals(List.of("a"), index.intersecting(new IntRectangle(-1, -1, 2, 2)));
+  }
+
+  @Test
+  void intersecting_negativeCoordinates() {
+    RectangleIndex<Integer> index = new RectangleIndex<>(BUCKET_SIZE);
+    index.add(new IntRectangle(-BUCKET_SIZE, -BUCKET_SIZE, 1, 1), 1);
+    index.add(new IntRectangle(-1, -1, 1, 1), 2);
+    index.add(new IntRectangle(0, 0, 1, 1), 3);
+    assertEquals(List.of(1),
+        index.intersecting(new IntRectangle(-BUCKET_SIZE, -BUCKET_SIZE, 1, 1)));
+    assertEquals(List.of(2), index.intersecting(new IntRectangle(-2, -2, 2, 2)));
+    assertEquals(List.of(3), index.intersecting(new IntRectangle(0, 0, 2, 2)));
+    assertFalse(index.anyIntersecting(new IntRectangle(-BUCKET_SIZE + 1, -BUCKET_SIZE, 1, 1)));
+  }
+
+  @Test
+  void intersecting_empty() {
+    RectangleIndex<String> index = new RectangleIndex<>(BUCKET_SIZE);
+    index.add(new IntRectangle(0, 0, 0, 5), "empty");
+    index.add(new IntRectangle(0, 0, 5, 5), "full");
+    assertEquals(List.of("full"), index.intersecting(new IntRectangle(0, 0, 5, 5)));
+    assertTrue(index.intersecting(new IntRectangle(1, 1, 3, 0)).isEmpty());
+    assertFalse(index.anyIntersecting(new IntRectangle(1, 1, 0, 3)));
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  void intersecting_random() {
+    Random rng = new Random(SEED);
+    List<IntRectangle> entries = new ArrayList<>();
+    RectangleIndex<Integer> index = new RectangleIndex<>(BUCKET_SIZE);
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      IntRectangle rectangle = randomRectangle(rng);
+      entries.add(rectangle);
+      index.add(rectangle, i);
+    }
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      IntRectangle area = randomRectangle(rng);
+      List<Integer> expected = IntStream.range(0, entries.size())
+          .filter((id) -> entries.get(id).intersects(area))
+          .boxed()
+          .toList();
+      List<Integer> actual = new ArrayList<>();
+      index.forEachIntersecting(area, (rectangle, id) -> {
+        assertEquals(entries.get(id), rectangle);
+        actual.add(id);
+      });
+      actual.sort(null);
+      assertEquals(expected, actual, area.toString());
+      assertEquals(!expected.isEmpty(), index.anyIntersecting(area), area.toString());
+    }
+  }
+
+  @Test
+  void constructor_invalid() {
+    assertThrows(IllegalArgumentException.class, () -> new RectangleIndex<>(0));
+  }
+
+  private static IntRectangle randomRectangle(Random rng) {
+    return new IntRectangle(
+        rng.nextInt(COORDINATE_RANGE) - COORDINATE_RANGE / 2,
+        rng.nextInt(COORDINATE_RANGE) - COORDINATE_RANGE / 2,
+        rng.nextInt(MAX_EXTENT + 1),
+        rng.nextInt(MAX_EXTENT + 1));
+  }
+
+}
@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+
+class ChunkSpliteratorTest {
+
+  private static final int ELEMENT_COUNT = 10_000;
+  private static final int CHUNK_SIZE = 7;
+
+  @Test
+  void forEachRemaining_partialLast() {
+    List<List<Integer>> chunks = new ArrayList<>();
+    new ChunkSpliterator<>(range(10).spliterator(), 4).forEachRemaining(chunks::add);
+    assertEquals(List.of(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7), List.of(8, 9)), chunks);
+  }
+
+  @Test
+  void tryAdvance_empty() {
+    ChunkSpliterator<Integer> spliterator = new ChunkSpliterator<>(range(0).spliterator(), 4);
+    assertFalse(spliterator.tryAdvance((chunk) -> {}));
+    assertEquals(0, spliterator.estimateSize());
+  }
+
+  @Test
+  void trySplit_chunkBoundaries() {
+    List<Integer> source = range(ELEMENT_COUNT);
+    List<List<Integer>> chunks = new ArrayList<>();
+    splitFully(new ChunkSpliterator<>(source.spliterator(), CHUNK_SIZE), chunks);
+    assertEquals(chunks(source), chunks);
+  }
+
+  @Test
+  void trySplit_unsized() {
+    List<Integer> source = range(ELEMENT_COUNT);
+    Spliterator<Integer> unsized =
+        Spliterators.spliteratorUnknownSize(source.iterator(), Spliterator.ORDERED);
+    ChunkSpliterator<Integer> spliterator = new ChunkSpliterator<>(unsized, CHUNK_SIZE);
+    assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+    assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+    List<List<Integer>> chunks = new ArrayList<>();
+    splitFully(spliterator, chunks);
+    assertEquals(chunks(source), chunks);
+  }
+
+  @Test
+  void estimateSize_sized() {
+    ChunkSpliterator<Integer> spliterator =
+        new ChunkSpliterator<>(range(ELEMENT_COUNT).spliterator(), CHUNK_SIZE);
+    long expected = (ELEMENT_COUNT + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+    assertEquals(expected, spliterator.estimateSize());
+    assertTrue(spliterator.tryAdvance((chunk) -> {}));
+    assertEquals(expected - 1, spliterator.estimateSize());
+    Spliterator<List<Integer>> prefix = spliterator.trySplit();
+    assertNotNull(prefix);
+    assertEquals(prefix.getExactSizeIfKnown(), prefix.estimateSize());
+    assertEquals(expected - 1, prefix.estimateSize() + spliterator.estimateSize());
+  }
+
+  @Test
+  void stream_parallel() {
+    List<Integer> source = range(ELEMENT_COUNT);
+    List<List<Integer>> sequential = StreamSupport
+        .stream(new ChunkSpliterator<>(source.spliterator(), CHUNK_SIZE), false)
+        .toList();
+    List<List<Integer>> parallel = StreamSupport
+        .stream(new ChunkSpliterator<>(source.spliterator(), CHUNK_SIZE), true)
+        .toList();
+    assertEquals(sequential, parallel);
+    assertEquals(ELEMENT_COUNT, parallel
+        .parallelStream()
+        .mapToInt(List::size)
+        .sum());
+  }
+
+  @Test
+  void constructor_invalid() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new ChunkSpliterator<>(range(1).spliterator(), 0));
+  }
+
+  private static void splitFully(Spliterator<List<Integer>> spliterator,
+      List<List<Integer>> chunks) {
+    Spliterator<List<Integer>> prefix = spliterator.trySplit();
+    if (prefix != null) {
+      splitFully(prefix, chunks);
+      splitFully(spliterator, chunks);
+    } else {
+      spliterator.forEachRemaining(chunks::add);
+    }
+  }
+
+  private static List<List<Integer>> chunks(List<Integer> source) {
+    List<List<Integer>> chunks = new ArrayList<>();
+    for (int start = 0; start < source.size(); start += CHUNK_SIZE) {
+      chunks.add(source.subList(start, Math.min(start + CHUNK_SIZE, source.size())));
+    }
+    return chunks;
+  }
+
+  private static List<Integer> range(int count) {
+    return IntStream.range(0, count).boxed().toList();
+  }
+
+}
@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class IntChunkerTest {
+
+  @Test
+  void next_partialLast() {
+    IntChunker chunker = new IntChunker(IntStream.range(0, 7).toArray(), 3);
+    assertArrayEquals(new int[]{0, 1, 2}, chunker.next());
+    assertArrayEquals(new int[]{3, 4, 5}, chunker.next());
+    assertArrayEquals(new int[]{6}, chunker.next());
+    assertFalse(chunker.hasNext());
+    assertThrows(NoSuchElementException.class, chunker::next);
+  }
+
+  @Test
+  void next_exactMultiple() {
+    IntChunker chunker = new IntChunker(IntStream.range(0, 4).iterator(), 2);
+    assertEquals(List.of("[0, 1]", "[2, 3]"), chunker.stream().map(Arrays::toString).toList());
+  }
+
+  @Test
+  void hasNext_empty() {
+    assertFalse(new IntChunker(new int[0], 2).hasNext());
+    assertFalse(IntChunker.sliding(new int[0], 2, 1).hasNext());
+  }
+
+  @Test
+  void sliding_overlapping() {
+    IntChunker chunker = IntChunker.sliding(IntStream.range(0, 6).toArray(), 3, 1);
+    assertEquals(List.of("[0, 1, 2]", "[1, 2, 3]", "[2, 3, 4]", "[3, 4, 5]"),
+        chunker.stream().map(Arrays::toString).toList());
+  }
+
+  @Test
+  void sliding_trailingDropped() {
+    IntChunker chunker = IntChunker.sliding(IntStream.range(0, 8).iterator(), 4, 3);
+    assertArrayEquals(new int[]{0, 1, 2, 3}, chunker.next());
+    assertArrayEquals(new int[]{3, 4, 5, 6}, chunker.next());
+    assertFalse(chunker.hasNext());
+  }
+
+  @Test
+  void sliding_modifiedWindow() {
+    IntChunker chunker = IntChunker.sliding(IntStream.range(0, 4).toArray(), 3, 1);
+    int[] first = chunker.next();
+    Arrays.fill(first, -1);
+    assertArrayEquals(new int[]{1, 2, 3}, chunker.next());
+  }
+
+  @Test
+  void constructor_invalid() {
+    int[] values = {1, 2, 3};
+    assertThrows(IllegalArgumentException.class, () -> new IntChunker(values, 0));
+    assertThrows(IllegalArgumentException.class, () -> IntChunker.sliding(values, 2, 0));
+    assertThrows(IllegalArgumentException.class, () -> IntChunker.sliding(values, 2, 3));
+  }
+
+}
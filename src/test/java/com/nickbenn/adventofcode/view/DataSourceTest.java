@@ -0,0 +1,263 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DataSourceTest {
+
+  private static final int CHUNKED_LINE_COUNT = 20_011;
+  private static final int CHUNK_SIZE = 100;
+  private static final String PARAGRAPHS = "\n\na\n  b\n\n \n\nc\n\nd\ne\nf";
+
+  @ParameterizedTest
+  @ValueSource(strings = {"terminators.txt", "no-final-newline.txt", "empty.txt"})
+  void lines_mapped(String file) throws IOException, URISyntaxException {
+    assertEquals(lines(classpathBuilder(file)), lines(pathBuilder(file)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"terminators.txt", "no-final-newline.txt", "empty.txt"})
+  void lines_mappedRaw(String file) throws IOException, URISyntaxException {
+    assertEquals(
+        lines(classpathBuilder(file).setTrimmed(false).setStripped(false)),
+        lines(pathBuilder(file).setTrimmed(false).setStripped(false)));
+  }
+
+  @Test
+  void lines_terminators() throws IOException, URISyntaxException {
+    assertEquals(List.of("alpha", "  beta  ", "", "gamma", "delta", "", "epsilon"),
+        lines(pathBuilder("terminators.txt").setTrimmed(false).setStripped(false)));
+  }
+
+  @Test
+  void lines_utf8() throws IOException, URISyntaxException {
+    List<String> expected = List.of("caf\u00e9", "na\u00efve");
+    assertEquals(expected, lines(classpathBuilder("utf8.txt")));
+    assertEquals(expected, lines(pathBuilder("utf8.txt")));
+  }
+
+  @Test
+  void lines_classpathSplit() throws IOException, URISyntaxException {
+    List<String> expected = lines(pathBuilder("numbered.txt"));
+    List<String> actual = new ArrayList<>();
+    try (Stream<String> lines = classpathBuilder("numbered.txt").build().lines()) {
+      Spliterator<String> suffix = lines.parallel().spliterator();
+      // An iterator-based spliterator (e.g. from BufferedReader.lines()) can't estimate its size.
+      assertTrue(suffix.estimateSize() < Long.MAX_VALUE);
+      Spliterator<String> prefix = suffix.trySplit();
+      assertNotNull(prefix);
+      prefix.forEachRemaining(actual::add);
+      suffix.forEachRemaining(actual::add);
+    }
+    assertEquals(expected, actual);
+    try (Stream<String> lines = classpathBuilder("numbered.txt").build().lines()) {
+      assertEquals(expected, lines.parallel().toList());
+    }
+  }
+
+  @Test
+  void lineViews_iso88591() throws IOException, URISyntaxException {
+    try (Stream<CharSequence> views = pathBuilder("utf8.txt").build().lineViews()) {
+      assertEquals(List.of("caf\u00c3\u00a9", "na\u00c3\u00afve"),
+          views.map(CharSequence::toString).toList());
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"terminators.txt", "no-final-newline.txt", "empty.txt"})
+  void lineViews(String file) throws IOException, URISyntaxException {
+    DataSource source = pathBuilder(file).build();
+    try (Stream<CharSequence> views = source.lineViews()) {
+      assertEquals(lines(pathBuilder(file)), views.map(CharSequence::toString).toList());
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"terminators.txt", "no-final-newline.txt", "empty.txt"})
+  void lineBuffers(String file) throws IOException, URISyntaxException {
+    DataSource source = pathBuilder(file).build();
+    try (Stream<ByteBuffer> buffers = source.lineBuffers()) {
+      assertEquals(lines(pathBuilder(file)), buffers
+          .map((buffer) -> StandardCharsets.US_ASCII.decode(buffer).toString())
+          .toList());
+    }
+  }
+
+  @Test
+  void lineViews_subSequence() throws IOException, URISyntaxException {
+    CharSequence view;
+    try (Stream<CharSequence> views = pathBuilder("terminators.txt").build().lineViews()) {
+      view = views.skip(1).findFirst().orElseThrow();
+    }
+    assertEquals(4, view.length());
+    assertEquals('b', view.charAt(0));
+    assertEquals("et", view.subSequence(1, 3).toString());
+    assertSame(view, view.subSequence(0, view.length()));
+    assertEquals(0, view.subSequence(2, 2).length());
+    assertThrows(IndexOutOfBoundsException.class, () -> view.charAt(4));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.subSequence(3, 5));
+  }
+
+  @Test
+  void lines_streaming() throws IOException {
+    DataSource source = streamingSource("first\nsecond\n");
+    assertTrue(source.isStreaming());
+    try (Stream<String> lines = source.lines()) {
+      assertEquals(List.of("first", "second"), lines.toList());
+    }
+    assertThrows(IllegalStateException.class, source::lines);
+  }
+
+  @Test
+  void paragraphs_streamingAfterLines() throws IOException {
+    DataSource source = streamingSource("first\n\nsecond\n");
+    try (Stream<String> lines = source.lines()) {
+      assertEquals(2, lines.count());
+    }
+    assertThrows(IllegalStateException.class, source::paragraphs);
+  }
+
+  @Test
+  void paragraphs() throws IOException {
+    try (Stream<String> paragraphs = streamingSource(PARAGRAPHS).paragraphs()) {
+      assertEquals(List.of("a\n  b", "c", "d\ne\nf"), paragraphs.toList());
+    }
+  }
+
+  @Test
+  void paragraphLines() throws IOException {
+    List<List<String>> expected = List.of(List.of("a", "b"), List.of("c"), List.of("d", "e", "f"));
+    for (boolean pipelined : new boolean[]{false, true}) {
+      DataSource source = new DataSource.Builder()
+          .setInputStream(new ByteArrayInputStream(PARAGRAPHS.getBytes(StandardCharsets.UTF_8)))
+          .setPipelined(pipelined)
+          .build();
+      try (Stream<Stream<String>> paragraphs = source.paragraphLines()) {
+        assertEquals(expected, paragraphs.map(Stream::toList).toList());
+      }
+    }
+  }
+
+  @Test
+  void paragraphLines_partiallyConsumed() throws IOException {
+    try (Stream<Stream<String>> paragraphs = streamingSource(PARAGRAPHS).paragraphLines()) {
+      assertEquals(List.of("a", "c", "d"),
+          paragraphs.map((paragraph) -> paragraph.findFirst().orElseThrow()).toList());
+    }
+  }
+
+  @Test
+  void intRows() throws IOException {
+    try (Stream<int[]> rows = streamingSource("0: 1 -2 3\n4-5, 6\n").intRows()) {
+      List<int[]> actual = rows.toList();
+      assertEquals(2, actual.size());
+      assertArrayEquals(new int[]{0, 1, -2, 3}, actual.get(0));
+      assertArrayEquals(new int[]{4, 5, 6}, actual.get(1));
+    }
+    try (Stream<int[]> rows = streamingSource("1 4000000000\n").intRows()) {
+      assertThrows(ArithmeticException.class, rows::toList);
+    }
+  }
+
+  @Test
+  void longRows() throws IOException {
+    String content = "79 14 55 13\n4000000000 -9223372036854775808 9223372036854775807\n";
+    try (Stream<long[]> rows = streamingSource(content).longRows()) {
+      List<long[]> actual = rows.toList();
+      assertEquals(2, actual.size());
+      assertArrayEquals(new long[]{79, 14, 55, 13}, actual.get(0));
+      assertArrayEquals(new long[]{4_000_000_000L, Long.MIN_VALUE, Long.MAX_VALUE}, actual.get(1));
+    }
+  }
+
+  @Test
+  void chunkedLines_parallel(@TempDir Path directory) throws IOException {
+    List<String> expected = IntStream.range(0, CHUNKED_LINE_COUNT)
+        .mapToObj((i) -> "line " + i)
+        .toList();
+    Path file = directory.resolve("lines.txt");
+    Files.write(file, expected);
+    DataSource source = new DataSource.Builder()
+        .setInputPath(file)
+        .build();
+    List<List<String>> sequential;
+    try (Stream<Stream<String>> chunks = source.chunkedLines(CHUNK_SIZE)) {
+      sequential = chunks.map(Stream::toList).toList();
+    }
+    List<List<String>> parallel;
+    try (Stream<Stream<String>> chunks = source.chunkedLines(CHUNK_SIZE)) {
+      parallel = chunks.parallel().map(Stream::toList).toList();
+    }
+    assertEquals(sequential, parallel);
+    assertEquals(expected, sequential.stream().flatMap(List::stream).toList());
+    for (int i = 0; i < sequential.size() - 1; i++) {
+      assertEquals(CHUNK_SIZE, sequential.get(i).size());
+    }
+    assertEquals(CHUNKED_LINE_COUNT % CHUNK_SIZE, sequential.get(sequential.size() - 1).size());
+  }
+
+  @Test
+  void isStreaming_mapped() throws IOException, URISyntaxException {
+    assertFalse(pathBuilder("terminators.txt").build().isStreaming());
+  }
+
+  private static List<String> lines(DataSource.Builder builder) throws IOException {
+    try (Stream<String> lines = builder.build().lines()) {
+      return lines.toList();
+    }
+  }
+
+  private static DataSource.Builder classpathBuilder(String file) {
+    return new DataSource.Builder(DataSourceTest.class)
+        .setInputFile(file);
+  }
+
+  private static DataSource.Builder pathBuilder(String file) throws URISyntaxException {
+    return new DataSource.Builder()
+        .setInputPath(Path.of(DataSourceTest.class.getResource(file).toURI()));
+  }
+
+  private static DataSource streamingSource(String content) throws IOException {
+    return new DataSource.Builder()
+        .setInputStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))
+        .build();
+  }
+
+}
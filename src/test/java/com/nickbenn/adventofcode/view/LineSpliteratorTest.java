@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+
+class LineSpliteratorTest {
+
+  private static final long SEED = 2023L;
+  private static final int LINE_COUNT = 20_000;
+  private static final int MAX_LINE_LENGTH = 40;
+  private static final String[] TERMINATORS = {"\n", "\r", "\r\n"};
+
+  @Test
+  void trySplit_wholeLines() {
+    ByteBuffer buffer = randomContent();
+    List<String> expected = new ArrayList<>();
+    spliterator(buffer).forEachRemaining(expected::add);
+    List<String> actual = new ArrayList<>();
+    int leaves = splitFully(spliterator(buffer), actual);
+    assertTrue(leaves > 1);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void trySplit_parallel() {
+    ByteBuffer buffer = randomContent();
+    List<String> expected = StreamSupport.stream(spliterator(buffer), false).toList();
+    List<String> actual = StreamSupport.stream(spliterator(buffer), true).toList();
+    assertEquals(expected, actual);
+    assertEquals(
+        StreamSupport.stream(spliterator(buffer), false).mapToLong(String::length).sum(),
+        StreamSupport.stream(spliterator(buffer), true).mapToLong(String::length).sum());
+  }
+
+  @Test
+  void trySplit_singleLine() {
+    ByteBuffer buffer = ByteBuffer.wrap("x".repeat(1 << 14).getBytes(StandardCharsets.US_ASCII));
+    assertNull(spliterator(buffer).trySplit());
+  }
+
+  private static int splitFully(Spliterator<String> spliterator, List<String> lines) {
+    Spliterator<String> prefix = spliterator.trySplit();
+    int leaves;
+    if (prefix == null) {
+      spliterator.forEachRemaining(lines::add);
+      leaves = 1;
+    } else {
+      leaves = splitFully(prefix, lines) + splitFully(spliterator, lines);
+    }
+    return leaves;
+  }
+
+  private static Spliterator<String> spliterator(ByteBuffer buffer) {
+    return new LineSpliterator<>(buffer, 0, buffer.limit(), MappedInput::decode);
+  }
+
+  private static ByteBuffer randomContent() {
+    Random rng = new Random(SEED);
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < LINE_COUNT; i++) {
+      for (int j = rng.nextInt(MAX_LINE_LENGTH); j > 0; j--) {
+        builder.append((char) ('a' + rng.nextInt(26)));
+      }
+      builder.append(TERMINATORS[rng.nextInt(TERMINATORS.length)]);
+    }
+    return ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.US_ASCII))
+        .asReadOnlyBuffer();
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class NumberScannerTest {
+
+  @Test
+  void ints_separators() {
+    assertArrayEquals(new int[]{1, 23, 456, 7},
+        NumberScanner.ints("Card  1: 23 456 | 7"));
+    assertArrayEquals(new int[0], NumberScanner.ints(""));
+    assertArrayEquals(new int[0], NumberScanner.ints("no digits - here"));
+  }
+
+  @Test
+  void ints_signs() {
+    assertArrayEquals(new int[]{-3, 0, 4, -5}, NumberScanner.ints("-3 0 4 --5"));
+    assertArrayEquals(new int[]{1, 2}, NumberScanner.ints("1-2"));
+    assertArrayEquals(new int[]{3, -4}, NumberScanner.ints("3,-4-"));
+    assertArrayEquals(new int[]{-7}, NumberScanner.ints("x-7"));
+  }
+
+  @Test
+  void ints_growth() {
+    int[] expected = IntStream.range(-50, 50).toArray();
+    String source = IntStream.of(expected)
+        .mapToObj(String::valueOf)
+        .collect(Collectors.joining(" "));
+    assertArrayEquals(expected, NumberScanner.ints(source));
+  }
+
+  @Test
+  void ints_overflow() {
+    assertThrows(ArithmeticException.class, () -> NumberScanner.ints("2147483648"));
+    assertArrayEquals(new int[]{Integer.MIN_VALUE}, NumberScanner.ints("-2147483648"));
+  }
+
+  @Test
+  void longs_extremes() {
+    assertArrayEquals(new long[]{Long.MIN_VALUE, Long.MAX_VALUE},
+        NumberScanner.longs("-9223372036854775808 9223372036854775807"));
+    assertThrows(ArithmeticException.class, () -> NumberScanner.longs("9223372036854775808"));
+    assertThrows(ArithmeticException.class, () -> NumberScanner.longs("-9223372036854775809"));
+  }
+
+  @Test
+  void nextInt_range() {
+    String source = "12-34 56";
+    NumberScanner scanner = new NumberScanner(source, 2, 5);
+    assertTrue(scanner.hasNext());
+    assertEquals(-34, scanner.nextInt());
+    assertEquals(5, scanner.position());
+    assertFalse(scanner.hasNext());
+    assertThrows(NoSuchElementException.class, scanner::nextInt);
+  }
+
+  @Test
+  void nextLong_partialNumber() {
+    NumberScanner scanner = new NumberScanner("123456", 1, 3);
+    assertEquals(23, scanner.nextLong());
+    assertFalse(scanner.hasNext());
+  }
+
+  @Test
+  void constructor_invalidRange() {
+    assertThrows(IndexOutOfBoundsException.class, () -> new NumberScanner("abc", -1, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> new NumberScanner("abc", 2, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> new NumberScanner("abc", 0, 4));
+  }
+
+}
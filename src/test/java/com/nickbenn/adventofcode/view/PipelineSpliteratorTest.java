@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+
+class PipelineSpliteratorTest {
+
+  private static final int ELEMENT_COUNT = 10_000;
+  private static final int BLOCKING_ELEMENT = 1_000;
+  private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+  @Test
+  void forEachRemaining_ordered() {
+    List<Integer> expected = IntStream.range(0, ELEMENT_COUNT).boxed().toList();
+    try (Stream<Integer> stream = pipeline(expected.stream())) {
+      assertEquals(expected, stream.toList());
+    }
+  }
+
+  @Test
+  void tryAdvance_ordered() {
+    List<Integer> expected = IntStream.range(0, ELEMENT_COUNT).boxed().toList();
+    PipelineSpliterator<Integer> spliterator = new PipelineSpliterator<>(expected.stream());
+    try {
+      for (Integer value : expected) {
+        assertTrue(spliterator.tryAdvance((actual) -> assertEquals(value, actual)));
+      }
+      assertFalse(spliterator.tryAdvance((actual) -> {}));
+    } finally {
+      spliterator.close();
+    }
+  }
+
+  @Test
+  void lines_pipelined() throws IOException {
+    String input = IntStream.range(0, ELEMENT_COUNT)
+        .mapToObj(String::valueOf)
+        .collect(Collectors.joining("\n"));
+    try (
+        Stream<String> expected = source(input, false).lines();
+        Stream<String> actual = source(input, true).lines()
+    ) {
+      assertEquals(expected.toList(), actual.toList());
+    }
+  }
+
+  @Test
+  void forEachRemaining_producerException() {
+    IllegalArgumentException failure = new IllegalArgumentException();
+    AtomicBoolean sourceClosed = new AtomicBoolean();
+    Stream<Integer> source = IntStream.range(0, ELEMENT_COUNT)
+        .boxed()
+        .peek((value) -> {
+          if (value == ELEMENT_COUNT / 2) {
+            throw failure;
+          }
+        })
+        .onClose(() -> sourceClosed.set(true));
+    int[] count = {0};
+    try (Stream<Integer> stream = pipeline(source)) {
+      assertSame(failure,
+          assertThrows(IllegalArgumentException.class, () -> stream.forEach((value) -> {
+            assertEquals(count[0]++, value);
+          })));
+    }
+    assertEquals(ELEMENT_COUNT / 2, count[0]);
+    assertTrue(sourceClosed.get());
+  }
+
+  @Test
+  void findFirst_close() {
+    AtomicReference<Thread> producer = new AtomicReference<>();
+    AtomicBoolean sourceClosed = new AtomicBoolean();
+    Stream<Integer> source = Stream.iterate(0, (value) -> value + 1)
+        .peek((value) -> producer.set(Thread.currentThread()))
+        .onClose(() -> sourceClosed.set(true));
+    try (Stream<Integer> stream = pipeline(source)) {
+      assertEquals(0, stream.findFirst().orElseThrow());
+    }
+    assertTrue(sourceClosed.get());
+    assertFalse(producer.get().isAlive());
+  }
+
+  @Test
+  void close_beforeTraversal() {
+    AtomicBoolean sourceClosed = new AtomicBoolean();
+    PipelineSpliterator<Integer> spliterator =
+        new PipelineSpliterator<>(Stream.of(1, 2, 3).onClose(() -> sourceClosed.set(true)));
+    spliterator.close();
+    assertTrue(sourceClosed.get());
+    assertFalse(spliterator.tryAdvance((value) -> {}));
+  }
+
+  @Test
+  void close_blockedRead() throws Exception {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<Thread> producer = new AtomicReference<>();
+    AtomicBoolean sourceClosed = new AtomicBoolean();
+    Stream<Integer> source = Stream.iterate(0, (value) -> value + 1)
+        .peek((value) -> {
+          producer.set(Thread.currentThread());
+          if (value == BLOCKING_ELEMENT) {
+            blocked.countDown();
+            ReadAheadInputStreamTest.awaitUninterruptibly(release);
+          }
+        })
+        .onClose(() -> sourceClosed.set(true));
+    PipelineSpliterator<Integer> spliterator = new PipelineSpliterator<>(source);
+    try {
+      assertTrue(spliterator.tryAdvance((value) -> assertEquals(0, value)));
+      blocked.await();
+      assertTimeoutPreemptively(CLOSE_TIMEOUT, spliterator::close);
+      assertFalse(spliterator.tryAdvance((value) -> {}));
+      assertFalse(sourceClosed.get());
+    } finally {
+      release.countDown();
+    }
+    producer.get().join(CLOSE_TIMEOUT.toMillis());
+    assertFalse(producer.get().isAlive());
+    assertTrue(sourceClosed.get());
+  }
+
+  private static <T> Stream<T> pipeline(Stream<T> source) {
+    PipelineSpliterator<T> spliterator = new PipelineSpliterator<>(source);
+    return StreamSupport.stream(spliterator, false)
+        .onClose(spliterator::close);
+  }
+
+  private static DataSource source(String input, boolean pipelined) throws IOException {
+    return new DataSource.Builder()
+        .setInputStream(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)))
+        .setPipelined(pipelined)
+        .build();
+  }
+
+}
@@ -0,0 +1,280 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReadAheadInputStreamTest {
+
+  private static final int LINE_COUNT = 100_000;
+  private static final List<String> LINES = IntStream.range(0, LINE_COUNT)
+      .mapToObj((index) -> "line " + index)
+      .toList();
+  private static final byte[] CONTENT =
+      LINES.stream().collect(Collectors.joining("\n")).getBytes(StandardCharsets.US_ASCII);
+  private static final int SHORT_READ_SIZE = 100;
+  private static final String FLUSHED_LINE = "flushed line";
+  private static final Duration PIPE_TIMEOUT = Duration.ofSeconds(10);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void lines_gzip() throws IOException {
+    Path file = directory.resolve("input.txt.gz");
+    Files.write(file, gzip());
+    DataSource source = new DataSource.Builder()
+        .setInputPath(file)
+        .build();
+    try (Stream<String> lines = source.lines()) {
+      assertEquals(LINES, lines.toList());
+    }
+  }
+
+  @Test
+  void lines_deflate() throws IOException {
+    DataSource source = new DataSource.Builder()
+        .setInputStream(new ByteArrayInputStream(deflate()))
+        .setCompression(Compression.DEFLATE)
+        .build();
+    try (Stream<String> lines = source.lines()) {
+      assertEquals(LINES, lines.toList());
+    }
+  }
+
+  @Test
+  void lines_pipedGzipFlush() throws Exception {
+    PipedInputStream pipe = new PipedInputStream();
+    OutputStream output = new GZIPOutputStream(new PipedOutputStream(pipe), true);
+    CountDownLatch done = new CountDownLatch(1);
+    Thread writer = new Thread(() -> {
+      try {
+        output.write((FLUSHED_LINE + "\n").getBytes(StandardCharsets.US_ASCII));
+        output.flush();
+        // Keep the pipe open (and the writing thread alive) until the line has been read.
+        done.await();
+        output.close();
+      } catch (IOException | InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    writer.start();
+    DataSource source = new DataSource.Builder()
+        .setInputStream(pipe)
+        .setCompression(Compression.GZIP)
+        .build();
+    try (Stream<String> lines = source.lines()) {
+      Iterator<String> iterator = lines.iterator();
+      assertEquals(FLUSHED_LINE,
+          assertTimeoutPreemptively(PIPE_TIMEOUT, () -> iterator.next()));
+      done.countDown();
+      assertFalse(iterator.hasNext());
+    } finally {
+      done.countDown();
+      writer.join();
+    }
+  }
+
+  @Test
+  void read_shortReads() throws IOException {
+    InputStream source = new FilterInputStream(new ByteArrayInputStream(CONTENT)) {
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        return super.read(b, off, Math.min(len, SHORT_READ_SIZE));
+      }
+
+    };
+    try (InputStream input = new ReadAheadInputStream(source)) {
+      byte[] buffer = new byte[CONTENT.length];
+      assertEquals(SHORT_READ_SIZE, input.read(buffer));
+      byte[] remainder = input.readAllBytes();
+      assertEquals(CONTENT.length, SHORT_READ_SIZE + remainder.length);
+      System.arraycopy(remainder, 0, buffer, SHORT_READ_SIZE, remainder.length);
+      assertArrayEquals(CONTENT, buffer);
+    }
+  }
+
+  @Test
+  void read_roundTrip() throws IOException {
+    try (InputStream input = new ReadAheadInputStream(new ByteArrayInputStream(CONTENT))) {
+      assertArrayEquals(CONTENT, input.readAllBytes());
+      assertEquals(-1, input.read());
+    }
+  }
+
+  @Test
+  void read_sourceException() throws IOException {
+    IOException failure = new IOException();
+    int failAfter = CONTENT.length / 2;
+    InputStream source = new FilterInputStream(new ByteArrayInputStream(CONTENT)) {
+
+      private int count;
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        if (count >= failAfter) {
+          throw failure;
+        }
+        int read = super.read(b, off, Math.min(len, failAfter - count));
+        count += Math.max(read, 0);
+        return read;
+      }
+
+    };
+    try (InputStream input = new ReadAheadInputStream(source)) {
+      byte[] prefix = input.readNBytes(failAfter);
+      assertEquals(failAfter, prefix.length);
+      IOException thrown = assertThrows(IOException.class, input::read);
+      assertSame(failure, thrown.getCause());
+    }
+  }
+
+  @Test
+  void read_sourceRuntimeException() throws IOException {
+    IllegalStateException failure = new IllegalStateException();
+    InputStream source = new InputStream() {
+
+      @Override
+      public int read() {
+        throw failure;
+      }
+
+    };
+    try (InputStream input = new ReadAheadInputStream(source)) {
+      IOException thrown = assertThrows(IOException.class, input::read);
+      assertSame(failure, thrown.getCause());
+    }
+  }
+
+  @Test
+  void close_closesSource() throws IOException {
+    boolean[] closed = {false};
+    InputStream source = new FilterInputStream(new ByteArrayInputStream(CONTENT)) {
+
+      @Override
+      public void close() throws IOException {
+        closed[0] = true;
+        super.close();
+      }
+
+    };
+    InputStream input = new ReadAheadInputStream(source);
+    assertEquals(CONTENT[0], input.read());
+    input.close();
+    assertTrue(closed[0]);
+    assertThrows(IOException.class, input::read);
+  }
+
+  @Test
+  void close_blockedRead() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch closed = new CountDownLatch(1);
+    InputStream source = new InputStream() {
+
+      @Override
+      public int read() {
+        awaitUninterruptibly(release);
+        return -1;
+      }
+
+      @Override
+      public void close() {
+        closed.countDown();
+      }
+
+    };
+    InputStream input = new ReadAheadInputStream(source);
+    try {
+      assertTimeoutPreemptively(PIPE_TIMEOUT, input::close);
+      assertThrows(IOException.class, input::read);
+      assertEquals(1, closed.getCount());
+    } finally {
+      release.countDown();
+    }
+    assertTrue(closed.await(PIPE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Waits for {@code latch} in the manner of a read that doesn't respond to interruption; the
+   * interrupt status is restored (rather than cleared) when the wait ends.
+   */
+  static void awaitUninterruptibly(CountDownLatch latch) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        latch.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static byte[] gzip() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream output = new GZIPOutputStream(bytes)) {
+      output.write(CONTENT);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] deflate() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    try (OutputStream output = new DeflaterOutputStream(bytes, deflater)) {
+      output.write(CONTENT);
+    } finally {
+      deflater.end();
+    }
+    return bytes.toByteArray();
+  }
+
+}
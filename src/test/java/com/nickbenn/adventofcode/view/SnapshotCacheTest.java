@@ -0,0 +1,191 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.view;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotCacheTest {
+
+  private static final int[] VALUES = {3, 1, 4, 1, 5};
+  private static final String CONTENT = "3 1 4\n1 5\n";
+
+  @TempDir
+  Path directory;
+
+  private String previousDirectory;
+  private Path input;
+  private Path snapshots;
+  private int parseCount;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    previousDirectory = System.getProperty(SnapshotCache.DIRECTORY_PROPERTY);
+    input = directory.resolve("input.txt");
+    snapshots = directory.resolve("snapshots");
+    Files.writeString(input, CONTENT);
+    System.setProperty(SnapshotCache.DIRECTORY_PROPERTY, snapshots.toString());
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (previousDirectory != null) {
+      System.setProperty(SnapshotCache.DIRECTORY_PROPERTY, previousDirectory);
+    } else {
+      System.clearProperty(SnapshotCache.DIRECTORY_PROPERTY);
+    }
+  }
+
+  @Test
+  void load_hit() throws IOException {
+    assertArrayEquals(VALUES, load(new IntArrayCodec(1)));
+    assertArrayEquals(VALUES, load(new IntArrayCodec(1)));
+    assertEquals(1, parseCount);
+    assertEquals(1, snapshotFiles().size());
+  }
+
+  @Test
+  void load_contentChanged() throws IOException {
+    load(new IntArrayCodec(1));
+    Files.writeString(input, "2 7\n");
+    assertArrayEquals(new int[]{2, 7}, load(new IntArrayCodec(1)));
+    assertEquals(2, parseCount);
+    assertEquals(2, snapshotFiles().size());
+  }
+
+  @Test
+  void load_versionChanged() throws IOException {
+    load(new IntArrayCodec(1));
+    assertArrayEquals(VALUES, load(new IntArrayCodec(2)));
+    assertArrayEquals(VALUES, load(new IntArrayCodec(2)));
+    assertEquals(2, parseCount);
+  }
+
+  @Test
+  void load_corrupt() throws IOException {
+    load(new IntArrayCodec(1));
+    Path snapshot = snapshotFiles().get(0);
+    byte[] bytes = Files.readAllBytes(snapshot);
+    // Overwrite the element count (following the magic number and version) with a negative value.
+    ByteBuffer.wrap(bytes).putInt(2 * Integer.BYTES, -1);
+    Files.write(snapshot, bytes);
+    assertArrayEquals(VALUES, load(new IntArrayCodec(1)));
+    assertEquals(2, parseCount);
+    assertArrayEquals(VALUES, load(new IntArrayCodec(1)));
+    assertEquals(2, parseCount);
+  }
+
+  @Test
+  void load_truncated() throws IOException {
+    load(new IntArrayCodec(1));
+    Path snapshot = snapshotFiles().get(0);
+    byte[] bytes = Files.readAllBytes(snapshot);
+    Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 1));
+    assertArrayEquals(VALUES, load(new IntArrayCodec(1)));
+    assertEquals(2, parseCount);
+  }
+
+  @Test
+  void load_disabled() throws IOException {
+    System.clearProperty(SnapshotCache.DIRECTORY_PROPERTY);
+    load(new IntArrayCodec(1));
+    load(new IntArrayCodec(1));
+    assertEquals(2, parseCount);
+    assertFalse(Files.exists(snapshots));
+  }
+
+  @Test
+  void load_streaming() throws IOException {
+    DataSource source = new DataSource.Builder()
+        .setInputStream(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)))
+        .build();
+    assertArrayEquals(VALUES,
+        SnapshotCache.load(source, SnapshotCacheTest.class, new IntArrayCodec(1), this::parse));
+    assertEquals(1, parseCount);
+    assertFalse(Files.exists(snapshots));
+  }
+
+  private int[] load(SnapshotCache.Codec<int[]> codec) throws IOException {
+    DataSource source = new DataSource.Builder()
+        .setInputPath(input)
+        .build();
+    return SnapshotCache.load(source, SnapshotCacheTest.class, codec, this::parse);
+  }
+
+  private int[] parse(DataSource source) throws IOException {
+    parseCount++;
+    try (Stream<int[]> rows = source.intRows()) {
+      return rows
+          .flatMapToInt(Arrays::stream)
+          .toArray();
+    }
+  }
+
+  private List<Path> snapshotFiles() throws IOException {
+    try (Stream<Path> files = Files.list(snapshots)) {
+      return files.toList();
+    }
+  }
+
+  private static class IntArrayCodec implements SnapshotCache.Codec<int[]> {
+
+    private final int version;
+
+    IntArrayCodec(int version) {
+      this.version = version;
+    }
+
+    @Override
+    public int version() {
+      return version;
+    }
+
+    @Override
+    public void write(int[] values, DataOutput output) throws IOException {
+      output.writeInt(values.length);
+      for (int value : values) {
+        output.writeInt(value);
+      }
+    }
+
+    @Override
+    public int[] read(ByteBuffer input) {
+      int[] values = new int[input.getInt()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = input.getInt();
+      }
+      return values;
+    }
+
+  }
+
+}
@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2023 Nicholas Bennett.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.nickbenn.adventofcode.day01;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DigitSearch} implementation using the incubating Vector API to examine
+ * {@link ByteVector#SPECIES_PREFERRED} bytes (16 to 64, depending on the platform) at a time. Each
+ * block of a line is compared against the digit range and (if words are recognized) the set of
+ * initial letters of the digit words, producing a mask of candidate positions; only candidates are
+ * then checked individually, by comparing the bytes starting there with each digit word having the
+ * same initial letter. Scanning forward, the first candidate that matches is the first digit;
+ * scanning backward (block by block from the end of the line, and from the highest candidate in
+ * each block), the first candidate that matches is the last digit.
+ * <p>This class is compiled in the {@code vector} source set, and is only loaded (reflectively)
+ * when the {@code jdk.incubator.vector} module is present; see {@link DigitSearch#digits()}.</p>
+ */
+final class VectorDigitSearch implements DigitSearch {
+
+  static final VectorDigitSearch DIGITS = new VectorDigitSearch(false);
+  static final VectorDigitSearch DIGITS_AND_WORDS = new VectorDigitSearch(true);
+
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+  private static final int LANES = SPECIES.length();
+  private static final int NO_MATCH = -1;
+  private static final byte[][][] WORDS_BY_INITIAL = new byte[128][][];
+  private static final byte[] INITIALS;
+
+  static {
+    StringBuilder initials = new StringBuilder();
+    String[] words = DigitScanner.DIGIT_WORDS;
+    for (int digit = 0; digit < words.length; digit++) {
+      String word = words[digit];
+      char initial = word.charAt(0);
+      byte[][] entries = WORDS_BY_INITIAL[initial];
+      if (entries == null) {
+        entries = new byte[0][];
+        initials.append(initial);
+      }
+      // The first byte of each entry holds the digit value; the remaining bytes, the word.
+      byte[] entry = new byte[word.length() + 1];
+      entry[0] = (byte) digit;
+      System.arraycopy(word.getBytes(StandardCharsets.US_ASCII), 0, entry, 1, word.length());
+      entries = Arrays.copyOf(entries, entries.length + 1);
+      entries[entries.length - 1] = entry;
+      WORDS_BY_INITIAL[initial] = entries;
+    }
+    INITIALS = initials.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private final boolean words;
+
+  private VectorDigitSearch(boolean words) {
+    this.words = words;
+  }
+
+  @Override
+  public int first(ByteBuffer line) {
+    int length = line.limit();
+    int position = 0;
+    for (int bound = SPECIES.loopBound(length); position < bound; position += LANES) {
+      for (long candidates = candidates(line, position).toLong(); candidates != 0;
+          candidates &= candidates - 1) {
+        int value = match(line, position + Long.numberOfTrailingZeros(candidates), length);
+        if (value != NO_MATCH) {
+          return value;
+        }
+      }
+    }
+    for (; position < length; position++) {
+      int value = match(line, position, length);
+      if (value != NO_MATCH) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException();
+  }
+
+  @Override
+  public int last(ByteBuffer line) {
+    int length = line.limit();
+    int start = length - LANES;
+    for (; start >= 0; start -= LANES) {
+      for (long candidates = candidates(line, start).toLong(); candidates != 0;
+          candidates &= ~Long.highestOneBit(candidates)) {
+        int value = match(line, start + Long.SIZE - 1 - Long.numberOfLeadingZeros(candidates),
+            length);
+        if (value != NO_MATCH) {
+          return value;
+        }
+      }
+    }
+    for (int position = start + LANES - 1; position >= 0; position--) {
+      int value = match(line, position, length);
+      if (value != NO_MATCH) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException();
+  }
+
+  private VectorMask<Byte> candidates(ByteBuffer line, int offset) {
+    ByteVector block = ByteVector.fromByteBuffer(SPECIES, line, offset, ByteOrder.nativeOrder());
+    VectorMask<Byte> candidates = block
+        .sub((byte) '0')
+        .compare(VectorOperators.UNSIGNED_LT, (byte) 10);
+    if (words) {
+      for (byte initial : INITIALS) {
+        candidates = candidates.or(block.compare(VectorOperators.EQ, initial));
+      }
+    }
+    return candidates;
+  }
+
+  private int match(ByteBuffer line, int position, int length) {
+    byte b = line.get(position);
+    if (b >= '0' && b <= '9') {
+      return b - '0';
+    }
+    if (words && b >= 0) {
+      byte[][] entries = WORDS_BY_INITIAL[b];
+      if (entries != null) {
+        for (byte[] entry : entries) {
+          if (matches(line, position, length, entry)) {
+            return entry[0];
+          }
+        }
+      }
+    }
+    return NO_MATCH;
+  }
+
+  private static boolean matches(ByteBuffer line, int position, int length, byte[] entry) {
+    int wordLength = entry.length - 1;
+    if (length - position < wordLength) {
+      return false;
+    }
+    for (int i = 1; i < wordLength; i++) {
+      if (line.get(position + i) != entry[i + 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}